@@ -0,0 +1,232 @@
+package ai;
+
+import engine.ShootingStrategy;
+import model.Board;
+import model.IBoard;
+import model.OpeningBook;
+import model.PlacementIndex;
+import model.Placements;
+import model.Ship;
+import model.ShotResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A computer player shooting at a board with a probability-density strategy.
+ * <p>
+ * The shooter keeps track of every placement of every ship type still afloat (see {@link Placements}) which is
+ * consistent with what it has seen in a {@link PlacementIndex}: placements covering a miss, touching a hit they
+ * don't cover or touching a sunk ship are ruled out. Each square is scored by the number of live placements
+ * covering it, weighted by the number of ships of the type still afloat. Placements covering hits of ships which
+ * aren't sunk yet count <code>TARGET_WEIGHT</code> times more for each such hit, so after a hit the shooter
+ * finishes off the ship before hunting for the next one. The shooter picks the unshot square with the highest
+ * score, ties broken at random.
+ * <p>
+ * The per-square counts are updated incrementally from the changes reported by the index, touching only the
+ * removed placements and the ones covering a new hit, so picking a move is a single pass over the board.
+ * <p>
+ * The first shots of a game are taken from an {@link OpeningBook}, by default the one at
+ * {@link OpeningBook#DEFAULT_PATH} if it exists, for as long as the game stays in the book.
+ * <p>
+ * The shooter only reads the board through {@link IBoard}, and only what a player could know: the fleet, the
+ * squares it has shot at, whether they hit, and the ships it has sunk. <code>ai.ShooterBenchmark</code> in the test
+ * sources measures its shots to win and time per move.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class DensityShooter implements ShootingStrategy, PlacementIndex.Listener {
+
+    /** Extra weight of a placement for each unsunk hit it covers */
+    public static final int TARGET_WEIGHT = 1000;
+
+    private static final Ship.ShipType[] TYPES = Ship.ShipType.values();
+    private static final int CELLS = Board.ROWS * Board.COLUMNS;
+
+    /** The squares covered by each valid placement, null for invalid ones */
+    private static final int[][] FOOTPRINT_CELLS = new int[Placements.COUNT][];
+
+    static {
+        int[] footprint = new int[CELLS];
+        for (Ship.ShipType type : TYPES)
+            for (int p : Placements.getValid(type)) {
+                int n = 0;
+                for (int cell = 0; cell < CELLS; cell++)
+                    if (Placements.covers(p, cell / Board.COLUMNS, cell % Board.COLUMNS))
+                        footprint[n++] = cell;
+                FOOTPRINT_CELLS[p] = Arrays.copyOf(footprint, n);
+            }
+    }
+
+    private IBoard board;
+    private final SplittableRandom random;
+
+    /** The placements still consistent with the shots */
+    private final PlacementIndex index = new PlacementIndex();
+
+    /** Number of live placements of each type covering each square, indexed [type][square] */
+    private final int[][] density = new int[TYPES.length][CELLS];
+
+    /** Sum of the unsunk hits covered by the live placements of each type covering each square */
+    private final int[][] targetDensity = new int[TYPES.length][CELLS];
+
+    /** Number of ships of each type still afloat */
+    private final int[] afloat = new int[TYPES.length];
+
+    private final boolean[] shot = new boolean[CELLS];
+
+    /** The opening book, or null */
+    private OpeningBook openingBook = OpeningBook.getDefault();
+
+    /** False once a state of the game wasn't found in the opening book */
+    private boolean inBook;
+
+    /**
+     * Creates a shooter for the games passed to {@link #newGame(IBoard)}.
+     *
+     * @param random source of randomness for breaking ties
+     */
+    public DensityShooter(SplittableRandom random) {
+        this.random = random;
+        index.setListener(this);
+    }
+
+    /**
+     * @param board the board to shoot at
+     */
+    public DensityShooter(IBoard board) {
+        this(board, new SplittableRandom());
+    }
+
+    /**
+     * @param board  the board to shoot at
+     * @param random source of randomness for breaking ties
+     */
+    public DensityShooter(IBoard board, SplittableRandom random) {
+        this(random);
+        this.board = board;
+        reset();
+    }
+
+    @Override
+    public void newGame(IBoard board) {
+        this.board = board;
+        reset();
+    }
+
+    /**
+     * Setter
+     *
+     * @param openingBook the book of opening shots, or null to compute every shot
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+        inBook = openingBook != null;
+    }
+
+    /**
+     * Starts over for a new game on the board. Squares already shot at are taken into account.
+     */
+    public void reset() {
+        inBook = openingBook != null;
+        Arrays.fill(afloat, 0);
+        Arrays.fill(shot, false);
+        for (int t = 0; t < TYPES.length; t++) {
+            Arrays.fill(density[t], 0);
+            Arrays.fill(targetDensity[t], 0);
+        }
+
+        List<Ship> ships = board.getShips();
+        Ship.ShipType[] fleet = new Ship.ShipType[ships.size()];
+        for (int i = 0; i < fleet.length; i++) {
+            fleet[i] = ships.get(i).getShipType();
+            afloat[fleet[i].ordinal()]++;
+        }
+        index.reset(fleet);
+        for (int p = index.nextAlive(0); p >= 0; p = index.nextAlive(p + 1))
+            for (int cell : FOOTPRINT_CELLS[p])
+                density[Placements.type(p).ordinal()][cell]++;
+
+        for (int cell = 0; cell < CELLS; cell++)
+            if (board.isHit(cell / Board.COLUMNS, cell % Board.COLUMNS))
+                update(cell / Board.COLUMNS, cell % Board.COLUMNS);
+    }
+
+    /**
+     * Picks the next square to shoot at.
+     *
+     * @return the square index <code>row * Board.COLUMNS + col</code>, or -1 if all squares have been shot at
+     */
+    @Override
+    public int nextShot() {
+        if (inBook) {
+            int cell = openingBook.lookup(board);
+            if (cell >= 0 && !shot[cell])
+                return cell;
+            inBook = false;
+        }
+
+        int best = -1;
+        long bestScore = -1;
+        int ties = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (shot[cell])
+                continue;
+            long score = 0;
+            for (int t = 0; t < TYPES.length; t++)
+                if (afloat[t] > 0)
+                    score += afloat[t] * ((long) density[t][cell] + (long) TARGET_WEIGHT * targetDensity[t][cell]);
+            if (score > bestScore) {
+                best = cell;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Takes the outcome of a shot into account. Call once the shot has been applied to the board.
+     *
+     * @param row the row index of the square shot at
+     * @param col the column index of the square shot at
+     */
+    public void update(int row, int col) {
+        int cell = row * Board.COLUMNS + col;
+        if (shot[cell])
+            return;
+        shot[cell] = true;
+
+        index.observe(board, row, col);
+        Ship ship = board.getShipAt(row, col);
+        if (ship != null && ship.isSunk())
+            afloat[ship.getShipType().ordinal()]--;
+    }
+
+    @Override
+    public void shotFired(int row, int col, ShotResult result) {
+        if (result != ShotResult.REPEAT && result != ShotResult.INVALID)
+            update(row, col);
+    }
+
+    @Override
+    public void hitCovered(int p) {
+        int[] target = targetDensity[Placements.type(p).ordinal()];
+        for (int cell : FOOTPRINT_CELLS[p])
+            target[cell]++;
+    }
+
+    @Override
+    public void placementRemoved(int p) {
+        int t = Placements.type(p).ordinal();
+        int covered = index.getHitsCovered(p);
+        for (int cell : FOOTPRINT_CELLS[p]) {
+            density[t][cell]--;
+            targetDensity[t][cell] -= covered;
+        }
+    }
+}
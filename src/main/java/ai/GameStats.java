@@ -0,0 +1,149 @@
+package ai;
+
+import model.Board;
+
+/**
+ * Aggregated results of many games: count, mean and variance of the shots to win and a histogram, kept in constant
+ * memory however many games are added. Games the strategy gave up on have no shots to win; they're only counted. The mean and variance are updated with Welford's method, and two partial
+ * results are merged with the parallel formula of Chan et al., so results from several threads can be combined in
+ * any order.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see Tournament
+ */
+public class GameStats {
+
+    private static final int MAX_SHOTS = Board.ROWS * Board.COLUMNS;
+
+    private long count;
+    private double mean;
+    /** Sum of squared differences from the mean */
+    private double m2;
+    private int min = Integer.MAX_VALUE;
+    private int max;
+
+    /** Number of games the strategy gave up on */
+    private long abandoned;
+
+    /** Number of games for each number of shots, 0 to <code>MAX_SHOTS</code> */
+    private final long[] histogram = new long[MAX_SHOTS + 1];
+
+    /**
+     * Adds the result of a game.
+     *
+     * @param shots the number of shots it took to win
+     */
+    public void add(int shots) {
+        count++;
+        double delta = shots - mean;
+        mean += delta / count;
+        m2 += delta * (shots - mean);
+        min = Math.min(min, shots);
+        max = Math.max(max, shots);
+        histogram[Math.min(shots, MAX_SHOTS)]++;
+    }
+
+    /**
+     * Adds a game the strategy gave up on without winning.
+     */
+    public void addAbandoned() {
+        abandoned++;
+    }
+
+    /**
+     * Adds the results of other games.
+     *
+     * @param other aggregated results
+     */
+    public void add(GameStats other) {
+        abandoned += other.abandoned;
+        if (other.count == 0)
+            return;
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * count * other.count / total;
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        for (int i = 0; i <= MAX_SHOTS; i++)
+            histogram[i] += other.histogram[i];
+    }
+
+    /**
+     * @return the number of games won
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of games the strategy gave up on
+     */
+    public long getAbandoned() {
+        return abandoned;
+    }
+
+    /**
+     * @return the mean number of shots to win
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * @return the sample variance of the number of shots to win
+     */
+    public double getVariance() {
+        return count > 1 ? m2 / (count - 1) : 0;
+    }
+
+    /**
+     * @return the fewest shots to win a game, 0 if no game was won
+     */
+    public int getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * @return the most shots to win a game
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * @param shots a number of shots
+     *
+     * @return the number of games won with that many shots
+     */
+    public long getGames(int shots) {
+        return histogram[shots];
+    }
+
+    /**
+     * @param percentile a percentile, 0 to 100
+     *
+     * @return the smallest number of shots such that the percentage of games won with at most that many is at
+     * least <code>percentile</code>
+     */
+    public int getPercentile(double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int shots = 0; shots <= MAX_SHOTS; shots++) {
+            seen += histogram[shots];
+            if (seen >= rank)
+                return shots;
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        String won = count == 0 ? "no games won"
+                : String.format("%d games, mean %.3f, variance %.3f, min %d, median %d, max %d",
+                count, mean, getVariance(), min, getPercentile(50), max);
+        return abandoned == 0 ? won : won + ", " + abandoned + " abandoned";
+    }
+}
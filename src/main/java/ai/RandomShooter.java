@@ -0,0 +1,50 @@
+package ai;
+
+import engine.ShootingStrategy;
+import model.Board;
+import model.IBoard;
+import model.ShotResult;
+
+import java.util.SplittableRandom;
+
+/**
+ * A baseline strategy shooting at the squares in a random order, without looking at the outcome of the shots.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class RandomShooter implements ShootingStrategy {
+
+    private final SplittableRandom random;
+    private final int[] order = new int[Board.ROWS * Board.COLUMNS];
+    private int next;
+
+    /**
+     * @param random source of randomness for the order of the shots
+     */
+    public RandomShooter(SplittableRandom random) {
+        this.random = random;
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+    }
+
+    @Override
+    public void newGame(IBoard board) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        next = 0;
+    }
+
+    @Override
+    public int nextShot() {
+        return next < order.length ? order[next++] : -1;
+    }
+
+    @Override
+    public void shotFired(int row, int col, ShotResult result) {
+    }
+}
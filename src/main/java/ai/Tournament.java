@@ -0,0 +1,183 @@
+package ai;
+
+import engine.Fleets;
+import engine.GameSession;
+import engine.ShootingStrategy;
+import helpers.GradeLevel;
+import model.Board;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays large numbers of games with a shooting strategy in parallel and aggregates the shots to win.
+ * <p>
+ * The games are split in chunks over a <code>ForkJoinPool</code>. Every chunk has its own board, its own strategy
+ * and its own <code>SplittableRandom</code>s, split off the root generator along the task tree, so the results for a
+ * given seed don't depend on the number of threads or on scheduling. The board's generator is split off first, so
+ * two strategies run with the same seed play the same layouts. Only a {@link GameStats} per chunk is kept; chunks
+ * are also streamed to a listener as they finish. Games a strategy gives up on are counted apart and left out of the
+ * shots to win.
+ * <p>
+ * Usage: <code>java ai.Tournament [games] [seed] [G|VG] [threads]</code>
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class Tournament {
+
+    /** Number of games played by a single task */
+    public static final int CHUNK_SIZE = 1024;
+
+    /**
+     * Receives the results of each chunk of games. Chunks arrive from several threads and in no particular order.
+     */
+    public interface ChunkListener {
+
+        /**
+         * @param chunk the results of a chunk of games
+         */
+        void chunkDone(GameStats chunk);
+    }
+
+    private final ForkJoinPool pool;
+
+    public Tournament() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool running the games
+     */
+    public Tournament(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        GradeLevel gradeLevel = args.length > 2 && args[2].equals("G") ? GradeLevel.GODKAND : GradeLevel.VAL_GODKAND;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        Tournament tournament = new Tournament(new ForkJoinPool(threads));
+        System.out.printf("%d games per strategy, fleet %s, seed %d, %d threads%n",
+                games, gradeLevel == GradeLevel.GODKAND ? "G" : "VG", seed, threads);
+        report(tournament, "density", DensityShooter::new, gradeLevel, games, seed);
+        report(tournament, "random", RandomShooter::new, gradeLevel, games, seed);
+    }
+
+    /**
+     * Plays games with a strategy.
+     *
+     * @param factory    creates the strategy for each chunk
+     * @param gradeLevel the grade level whose fleet is played
+     * @param games      number of games
+     * @param seed       seed of the root random generator
+     * @param listener   receiver of the results of each chunk, must be thread safe, or null
+     *
+     * @return the results of all games
+     */
+    public GameStats run(ShootingStrategy.Factory factory, GradeLevel gradeLevel, long games, long seed,
+                         ChunkListener listener) {
+        return pool.invoke(new Task(factory, gradeLevel, 0, games, new SplittableRandom(seed), listener));
+    }
+
+    private static void report(Tournament tournament, String name, ShootingStrategy.Factory factory,
+                               GradeLevel gradeLevel, long games, long seed) {
+        System.out.println(name + ":");
+        GameStats progress = new GameStats();
+        long step = Math.max(CHUNK_SIZE, games / 10);
+        long start = System.nanoTime();
+        GameStats stats = tournament.run(factory, gradeLevel, games, seed, chunk -> {
+            synchronized (progress) {
+                long before = progress.getCount() + progress.getAbandoned();
+                progress.add(chunk);
+                long played = progress.getCount() + progress.getAbandoned();
+                if (played / step != before / step && played < games)
+                    System.out.printf("  %10d games, mean %.3f%n", played, progress.getMean());
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("  %s%n  stddev %.3f, p90 %d, p99 %d, %.0f games/s%n", stats,
+                Math.sqrt(stats.getVariance()), stats.getPercentile(90), stats.getPercentile(99),
+                (stats.getCount() + stats.getAbandoned()) / seconds);
+        printHistogram(stats);
+    }
+
+    private static void printHistogram(GameStats stats) {
+        final int bin = 5;
+        long most = 1;
+        for (int from = 0; from <= Board.ROWS * Board.COLUMNS; from += bin)
+            most = Math.max(most, binCount(stats, from, bin));
+        if (stats.getCount() == 0)
+            return;
+        for (int from = stats.getMin() / bin * bin; from <= stats.getMax(); from += bin) {
+            long n = binCount(stats, from, bin);
+            StringBuilder bar = new StringBuilder();
+            for (int i = 0; i < 50 * n / most; i++)
+                bar.append('#');
+            System.out.printf("  %3d-%-3d %10d %s%n", from, from + bin - 1, n, bar);
+        }
+    }
+
+    private static long binCount(GameStats stats, int from, int bin) {
+        long n = 0;
+        for (int shots = from; shots < from + bin && shots <= Board.ROWS * Board.COLUMNS; shots++)
+            n += stats.getGames(shots);
+        return n;
+    }
+
+    /**
+     * Plays the games in [from, to), splitting the range in halves down to a chunk.
+     */
+    private static class Task extends RecursiveTask<GameStats> {
+
+        private final ShootingStrategy.Factory factory;
+        private final GradeLevel gradeLevel;
+        private final long from, to;
+        private final SplittableRandom random;
+        private final ChunkListener listener;
+
+        Task(ShootingStrategy.Factory factory, GradeLevel gradeLevel, long from, long to, SplittableRandom random,
+             ChunkListener listener) {
+            this.factory = factory;
+            this.gradeLevel = gradeLevel;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.listener = listener;
+        }
+
+        @Override
+        protected GameStats compute() {
+            if (to - from <= CHUNK_SIZE)
+                return playChunk();
+            long mid = from + (to - from) / 2;
+            Task left = new Task(factory, gradeLevel, from, mid, random.split(), listener);
+            Task right = new Task(factory, gradeLevel, mid, to, random, listener);
+            left.fork();
+            GameStats stats = right.compute();
+            stats.add(left.join());
+            return stats;
+        }
+
+        private GameStats playChunk() {
+            GameSession session = new GameSession(new Board(random.split()));
+            ShootingStrategy strategy = factory.create(random.split());
+            GameStats stats = new GameStats();
+            for (long game = from; game < to; game++) {
+                if (!session.start(gradeLevel))
+                    throw new IllegalStateException("the fleet can't be placed");
+                int shots = session.play(strategy);
+                if (shots == GameSession.GAVE_UP)
+                    stats.addAbandoned();
+                else
+                    stats.add(shots);
+            }
+            if (listener != null)
+                listener.chunkDone(stats);
+            return stats;
+        }
+    }
+}
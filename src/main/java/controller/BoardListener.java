@@ -2,6 +2,8 @@ package controller;
 
 import model.Board;
 
+import java.util.BitSet;
+
 /**
  * The listener interface for receiving changes made to the <code>Board</code>.<br>
  * Classes that implements IBoard (for example Board) can add BoardListener and notify these when
@@ -28,7 +30,21 @@ public interface BoardListener {
      *
      * @param row a row index
      * @param col a column index
-     * @see Board#fireSquaredChanged(Board.Square)
+     * @see Board#fireSquaredChanged(int, int)
      */
     void squareChanged(int row, int col);
+
+    /**
+     * Invoked once for a batch of changes to the <code>Board</code>, for example a new layout.
+     * By default every changed square is passed on to <code>squareChanged</code>.
+     *
+     * @param squares the changed squares, by index <code>row * Board.COLUMNS + col</code>. Only valid during
+     *                the call.
+     * @see Board#beginBatch()
+     * @see Board#fireSquaresChanged(BitSet)
+     */
+    default void squaresChanged(BitSet squares) {
+        for (int i = squares.nextSetBit(0); i >= 0; i = squares.nextSetBit(i + 1))
+            squareChanged(i / Board.COLUMNS, i % Board.COLUMNS);
+    }
 }
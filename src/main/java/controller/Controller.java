@@ -2,7 +2,9 @@ package controller;
 
 import helpers.GradeLevel;
 import helpers.ShowLevel;
+import model.Board;
 import model.Ship;
+import view.BoardCanvas;
 import view.BoardPanel;
 import view.MainFrame;
 import view.OutputPanel;
@@ -114,14 +116,12 @@ public class Controller implements MouseMotionListener, MouseListener, ActionLis
 
     @Override
     public void mousePressed(MouseEvent e) {
-        BoardPanel.SquareLabel sq;
-        if (e.getSource().getClass().equals(BoardPanel.SquareLabel.class))
-            sq = (BoardPanel.SquareLabel) e.getSource();
-        else
+        int square = squareAt(e);
+        if (square < 0)
             return;
 
         if (state.equals(State.WAITING_FOR_PLAYER_TO_MOVE)) {
-            gameDriver.squareClicked(sq);
+            gameDriver.squareClicked(square / Board.COLUMNS, square % Board.COLUMNS);
         }
     }
 
@@ -132,7 +132,7 @@ public class Controller implements MouseMotionListener, MouseListener, ActionLis
     @Override
     public void mouseEntered(MouseEvent e) {
 
-        if (e.getSource().getClass().equals(BoardPanel.SquareLabel.class)) {
+        if (isBoardView(e.getSource())) {
             // set cursor
             getMainFrame().setCursor(Cursor.getPredefinedCursor(Cursor.CROSSHAIR_CURSOR));
 
@@ -169,6 +169,34 @@ public class Controller implements MouseMotionListener, MouseListener, ActionLis
     }
     // END - Implementation of MouseMotionListener
 
+    /**
+     * @return true if the component is, or is part of, the view of the board
+     */
+    private boolean isBoardView(Object source) {
+        return source instanceof BoardPanel.SquareLabel || source instanceof BoardCanvas;
+    }
+
+    /**
+     * Finds the square under the mouse.
+     *
+     * @param e a mouse event from a component
+     *
+     * @return the index <code>row * Board.COLUMNS + col</code> of the square, or -1 if the event isn't on a square
+     */
+    private int squareAt(MouseEvent e) {
+        if (e.getSource() instanceof BoardPanel.SquareLabel) {
+            BoardPanel.SquareLabel sq = (BoardPanel.SquareLabel) e.getSource();
+            return sq.getRow() * Board.COLUMNS + sq.getCol();
+        }
+        if (e.getSource() instanceof BoardCanvas) {
+            BoardCanvas canvas = (BoardCanvas) e.getSource();
+            int row = canvas.rowAt(e.getY());
+            int col = canvas.colAt(e.getX());
+            return row < 0 || col < 0 ? -1 : row * Board.COLUMNS + col;
+        }
+        return -1;
+    }
+
 
     /**
      * Starts a new game
@@ -210,7 +238,7 @@ public class Controller implements MouseMotionListener, MouseListener, ActionLis
         if (e.getStateChange() == ItemEvent.SELECTED) {
             // check if "show/hide" was changed
             if (((MainFrame.MyCheckBox) e.getSource()).getText().equals("Show/Hide")) {
-                mainFrame.getBoardPanel().boardChanged();
+                mainFrame.getBoardView().boardChanged();
             }
             // check if "grade G" is selected
             else if (((MainFrame.MyCheckBox) e.getSource()).getText().equals("VG")) {
@@ -219,7 +247,7 @@ public class Controller implements MouseMotionListener, MouseListener, ActionLis
         }
         if (e.getStateChange() == ItemEvent.DESELECTED) {
             if (((MainFrame.MyCheckBox) e.getSource()).getText().equals("Show/Hide")) {
-                mainFrame.getBoardPanel().boardChanged();
+                mainFrame.getBoardView().boardChanged();
             } else if (((MainFrame.MyCheckBox) e.getSource()).getText().equals("VG")) {
                 startrestart();
             }
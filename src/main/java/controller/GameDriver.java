@@ -1,53 +1,37 @@
 package controller;
 
+import engine.Fleets;
+import engine.GameSession;
 import helpers.GradeLevel;
 import model.Board;
+import model.LayoutPool;
 import model.Ship;
-import view.BoardPanel;
+import model.ShotResult;
 
 /**
  * This game driver controls the behaviour of the game and handles the game flow.
+ * The game itself is played by a headless <code>GameSession</code>; the driver adapts its results to the views.
  *
  * @author Tor Gammelgard
  * @version 2015-10-18
+ * @see GameSession
  */
 public class GameDriver {
 
     private Controller controller;
 
-    private int missedShots;
+    private GameSession session;
 
-    private Board board;
-
-    /**
-     * @return the only ship needed for grade G
-     */
-    private Ship[] createShipsForGradeG() {
-        return new Ship[]{Ship.createShip(Ship.ShipType.SUBMARINE)};
-    }
-
-    /**
-     * @return the ships needed for grade VG
-     */
-    private Ship[] createShipsForGradeVG() {
-        Ship[] ships = new Ship[]{
-                Ship.createShip(Ship.ShipType.CARRIER),
-                Ship.createShip(Ship.ShipType.BATTLESHIP),
-                Ship.createShip(Ship.ShipType.BATTLESHIP),
-                Ship.createShip(Ship.ShipType.SUBMARINE),
-                Ship.createShip(Ship.ShipType.SUBMARINE),
-                Ship.createShip(Ship.ShipType.SUBMARINE),
-                Ship.createShip(Ship.ShipType.PATROL_BOAT),
-                Ship.createShip(Ship.ShipType.PATROL_BOAT),
-                Ship.createShip(Ship.ShipType.PATROL_BOAT),
-                Ship.createShip(Ship.ShipType.PATROL_BOAT)
-        };
-        return ships;
-    }
+    private LayoutPool layoutPool;
 
     public GameDriver(Controller controller) {
         this.controller = controller;
-        board = new Board();
+        Board board = new Board();
+        layoutPool = new LayoutPool();
+        layoutPool.prepare(Fleets.types(GradeLevel.GODKAND));
+        layoutPool.prepare(Fleets.types(GradeLevel.VAL_GODKAND));
+        board.setLayoutPool(layoutPool);
+        session = new GameSession(board);
     }
 
     /**
@@ -56,7 +40,16 @@ public class GameDriver {
      * @return a reference to the Board
      */
     public Board getBoard() {
-        return board;
+        return session.getBoard();
+    }
+
+    /**
+     * Getter
+     *
+     * @return the pool of ready-made layouts used for new games
+     */
+    public LayoutPool getLayoutPool() {
+        return layoutPool;
     }
 
     /**
@@ -67,57 +60,50 @@ public class GameDriver {
      * @return true if a all ships could be placed on the board and a new game was started
      */
     public boolean startGame(GradeLevel gradeLevel) {
-        if (gradeLevel == GradeLevel.GODKAND) {
-            if (!board.newGame(createShipsForGradeG()))
-                return false;
-        } else if (gradeLevel == GradeLevel.VAL_GODKAND)
-            if (!board.newGame(createShipsForGradeVG()))
-                return false;
+        if (!session.start(gradeLevel))
+            return false;
 
-        missedShots = 0;
-        controller.getMainFrame().getBoardPanel().boardChanged();
-        controller.getMainFrame().getShipsStatusPanel().update(board.getShips());
+        controller.getMainFrame().getShipsStatusPanel().update(getBoard().getShips());
         controller.updateMissedPanel("Missed shots : 0");
         controller.getMainFrame().getFXPane().showMessage("Good luck!");
         return true;
     }
 
     /**
-     * Handles a click on a square label
+     * Handles a click on a square of the board
      *
-     * @param sq the square label which was clicked
+     * @param row the row index of the square which was clicked
+     * @param col the column index of the square which was clicked
      */
-    public void squareClicked(BoardPanel.SquareLabel sq) {
-
-        // set the square and check if it was a hit or miss
-        if (!board.setSquare(sq.getRow(), sq.getCol()))
-            return;
+    public void squareClicked(int row, int col) {
 
-        Board.Square boardSq = board.getSquare(sq.getRow(), sq.getCol());
+        ShotResult result = session.shoot(row, col);
 
         // these views are updated through this controller, instead of using listeners
-        int numDestroyedShips = 0;
-        if (boardSq.isOccupied()) {
-            controller.getMainFrame().getFXPane().doHitAnimation(true);
-            if (boardSq.getShip().isSunk())
-                controller.getMainFrame().shakeWindow();
-            for (Ship ship : board.getShips()) {
-                if (ship.isSunk())
-                    numDestroyedShips++;
-
-            }
-
-            // end game
-            if (numDestroyedShips == board.getShips().size()) {
-                System.out.println("All ships destroyed!");
-                controller.getMainFrame().getFXPane().showMessage("Victory!");
-                controller.setState(Controller.State.NORMAL);
-            }
-            controller.updateShipsStatusPanel(boardSq.getShip().getCopy());
-        } else {
-            String s = String.format("Missed shots : %d. ", ++missedShots);
-            controller.updateMissedPanel(s);
-            controller.getMainFrame().getFXPane().doHitAnimation(false);
+        switch (result) {
+            case MISS:
+                String s = String.format("Missed shots : %d. ", getBoard().getMissCount());
+                controller.updateMissedPanel(s);
+                controller.getMainFrame().getFXPane().doHitAnimation(false);
+                break;
+            case HIT:
+            case SUNK:
+            case VICTORY:
+                Ship hitShip = getBoard().getShipAt(row, col);
+                controller.getMainFrame().getFXPane().doHitAnimation(true);
+                if (result != ShotResult.HIT)
+                    controller.getMainFrame().shakeWindow();
+
+                // end game
+                if (result == ShotResult.VICTORY) {
+                    System.out.println("All ships destroyed!");
+                    controller.getMainFrame().getFXPane().showMessage("Victory!");
+                    controller.setState(Controller.State.NORMAL);
+                }
+                controller.updateShipsStatusPanel(hitShip);
+                break;
+            default:
+                break;
         }
 
     }
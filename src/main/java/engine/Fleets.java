@@ -0,0 +1,63 @@
+package engine;
+
+import helpers.GradeLevel;
+import model.Ship;
+
+/**
+ * The fleets used for the different grade levels.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public final class Fleets {
+
+    private Fleets() {
+    }
+
+    /**
+     * @param gradeLevel a grade level
+     *
+     * @return new ships for the grade level
+     */
+    public static Ship[] create(GradeLevel gradeLevel) {
+        return gradeLevel == GradeLevel.VAL_GODKAND ? createShipsForGradeVG() : createShipsForGradeG();
+    }
+
+    /**
+     * @param gradeLevel a grade level
+     *
+     * @return the ship types of the fleet for the grade level
+     */
+    public static Ship.ShipType[] types(GradeLevel gradeLevel) {
+        Ship[] ships = create(gradeLevel);
+        Ship.ShipType[] types = new Ship.ShipType[ships.length];
+        for (int i = 0; i < ships.length; i++)
+            types[i] = ships[i].getShipType();
+        return types;
+    }
+
+    /**
+     * @return the only ship needed for grade G
+     */
+    public static Ship[] createShipsForGradeG() {
+        return new Ship[]{Ship.createShip(Ship.ShipType.SUBMARINE)};
+    }
+
+    /**
+     * @return the ships needed for grade VG
+     */
+    public static Ship[] createShipsForGradeVG() {
+        return new Ship[]{
+                Ship.createShip(Ship.ShipType.CARRIER),
+                Ship.createShip(Ship.ShipType.BATTLESHIP),
+                Ship.createShip(Ship.ShipType.BATTLESHIP),
+                Ship.createShip(Ship.ShipType.SUBMARINE),
+                Ship.createShip(Ship.ShipType.SUBMARINE),
+                Ship.createShip(Ship.ShipType.SUBMARINE),
+                Ship.createShip(Ship.ShipType.PATROL_BOAT),
+                Ship.createShip(Ship.ShipType.PATROL_BOAT),
+                Ship.createShip(Ship.ShipType.PATROL_BOAT),
+                Ship.createShip(Ship.ShipType.PATROL_BOAT)
+        };
+    }
+}
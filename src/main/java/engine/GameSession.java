@@ -0,0 +1,128 @@
+package engine;
+
+import helpers.GradeLevel;
+import model.Board;
+import model.Ship;
+import model.ShotResult;
+
+/**
+ * A headless game of Battleship: a board with a fleet on it, taking shots and reporting their outcome.
+ * It doesn't depend on any view, so games can be played in batch jobs and servers without AWT.
+ * <p>
+ * Shots may be taken from several threads at once, see {@link Board#shoot(int, int)}; starting a game may not
+ * overlap with shots.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see controller.GameDriver
+ */
+public class GameSession {
+
+    /** Returned by {@link #play(ShootingStrategy)} when the strategy gave up without winning */
+    public static final int GAVE_UP = -1;
+
+    private final Board board;
+    private volatile boolean running;
+
+    public GameSession() {
+        this(new Board());
+    }
+
+    /**
+     * @param board the board to play on
+     */
+    public GameSession(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * Getter
+     *
+     * @return a reference to the Board
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Starts a new game with the fleet of a grade level.
+     *
+     * @param gradeLevel the selected grade level
+     *
+     * @return true if all ships could be placed on the board and a new game was started
+     */
+    public boolean start(GradeLevel gradeLevel) {
+        return start(Fleets.create(gradeLevel));
+    }
+
+    /**
+     * Starts a new game.
+     *
+     * @param ships the fleet to be placed randomly on the board
+     *
+     * @return true if all ships could be placed on the board and a new game was started
+     */
+    public boolean start(Ship[] ships) {
+        running = board.newGame(ships);
+        return running;
+    }
+
+    /**
+     * Shoots at a square.
+     *
+     * @param row a row index
+     * @param col a column index
+     *
+     * @return the outcome of the shot
+     */
+    public ShotResult shoot(int row, int col) {
+        if (!running)
+            return ShotResult.INVALID;
+        ShotResult result = board.shoot(row, col);
+        if (result == ShotResult.VICTORY)
+            running = false;
+        return result;
+    }
+
+    /**
+     * Lets a strategy play the current game to the end. Gives up if the strategy keeps picking squares which have
+     * already been shot at or are outside the board, or no square at all.
+     *
+     * @param strategy a shooting strategy
+     *
+     * @return the number of shots it took to win the game, or <code>GAVE_UP</code> if the strategy gave up
+     */
+    public int play(ShootingStrategy strategy) {
+        strategy.newGame(board);
+        int wasted = 0;
+        while (running && wasted < Board.ROWS * Board.COLUMNS) {
+            int square = strategy.nextShot();
+            if (square < 0) {
+                // no square picked, there's nothing to report back
+                wasted++;
+                continue;
+            }
+            int row = square / Board.COLUMNS;
+            int col = square % Board.COLUMNS;
+            ShotResult result = shoot(row, col);
+            if (result == ShotResult.REPEAT || result == ShotResult.INVALID)
+                wasted++;
+            strategy.shotFired(row, col, result);
+        }
+        return running ? GAVE_UP : getShots();
+    }
+
+    /**
+     * @return true if a game has been started and not yet won
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return the number of shots taken in the current game, repeated and invalid shots not counted
+     */
+    public int getShots() {
+        return board.getHitCount() + board.getMissCount();
+    }
+}
@@ -0,0 +1,55 @@
+package engine;
+
+import model.IBoard;
+import model.ShotResult;
+
+import java.util.SplittableRandom;
+
+/**
+ * A strategy for shooting at a board, e.g. a computer player. The game engine asks the strategy for a square,
+ * shoots at it and reports the outcome back, see {@link GameSession#play(ShootingStrategy)}.
+ * <p>
+ * A strategy keeps per-game state and is used by one game at a time.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public interface ShootingStrategy {
+
+    /**
+     * Creates strategies, one for each thread of a tournament.
+     */
+    interface Factory {
+
+        /**
+         * @param random the only source of randomness the strategy may use, so games can be reproduced
+         *
+         * @return a new strategy
+         */
+        ShootingStrategy create(SplittableRandom random);
+    }
+
+    /**
+     * Starts a new game. The fleet is on the board and no shots have been fired.
+     *
+     * @param board the board to shoot at, only to be read for what a player could know
+     */
+    void newGame(IBoard board);
+
+    /**
+     * Picks the next square to shoot at.
+     *
+     * @return the square index <code>row * Board.COLUMNS + col</code>, or a negative value if the strategy has no
+     * square to pick; no shot is fired then and {@link #shotFired(int, int, ShotResult)} isn't called
+     */
+    int nextShot();
+
+    /**
+     * Receives the outcome of a shot, after it has been applied to the board.
+     *
+     * @param row    the row index of the square shot at
+     * @param col    the column index of the square shot at
+     * @param result the outcome of the shot
+     */
+    void shotFired(int row, int col, ShotResult result);
+}
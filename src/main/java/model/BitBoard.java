@@ -0,0 +1,95 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Static helpers for the bit planes used by <code>Board</code>.
+ * A plane stores one bit per square, where square (row, col) has the index <code>row * COLUMNS + col</code>,
+ * packed into an array of <code>WORDS</code> longs. Planes written by several threads are kept in an
+ * <code>AtomicLongArray</code> instead.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see Board
+ */
+final class BitBoard {
+
+    /** Number of squares on the board */
+    static final int CELLS = Board.ROWS * Board.COLUMNS;
+
+    /** Number of longs needed to hold one plane */
+    static final int WORDS = (CELLS + 63) >>> 6;
+
+    private BitBoard() {
+    }
+
+    /**
+     * @param row a row index
+     * @param col a column index
+     *
+     * @return the square index of (row, col)
+     */
+    static int index(int row, int col) {
+        return row * Board.COLUMNS + col;
+    }
+
+    /**
+     * @param plane a bit plane
+     * @param index a square index
+     *
+     * @return true if the bit for the square is set
+     */
+    static boolean test(long[] plane, int index) {
+        return (plane[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit for a square.
+     *
+     * @param plane a bit plane
+     * @param index a square index
+     */
+    static void set(long[] plane, int index) {
+        plane[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Clears the bit for a square.
+     *
+     * @param plane a bit plane
+     * @param index a square index
+     */
+    static void clear(long[] plane, int index) {
+        plane[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * @param plane a bit plane shared between threads
+     * @param index a square index
+     *
+     * @return true if the bit for the square is set
+     */
+    static boolean test(AtomicLongArray plane, int index) {
+        return (plane.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Atomically sets the bit for a square. When several threads set the same bit, exactly one of them succeeds.
+     *
+     * @param plane a bit plane shared between threads
+     * @param index a square index
+     *
+     * @return true if the bit was set by this call, false if it was already set
+     */
+    static boolean testAndSet(AtomicLongArray plane, int index) {
+        int w = index >>> 6;
+        long bit = 1L << index;
+        long word;
+        do {
+            word = plane.get(w);
+            if ((word & bit) != 0)
+                return false;
+        } while (!plane.compareAndSet(w, word, word | bit));
+        return true;
+    }
+}
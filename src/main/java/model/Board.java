@@ -3,13 +3,34 @@ package model;
 import controller.BoardListener;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 /**
  * A model for the Battleship's game board. Can place out ships randomly and start a new game.
  * Handles basic operations to the board like setting a square or resetting the board.
+ * <p>
+ * The state of the squares is kept in bit planes (occupied and hit, one bit per square) and a ship-id plane,
+ * see {@link BitBoard}. Headless callers can read the planes through {@link #isHit(int, int)},
+ * {@link #isOccupied(int, int)} and {@link #getShipAt(int, int)}, while {@link #getSquare(int, int)} still hands
+ * out <code>Square</code> snapshots for the view.
+ * <p>
+ * Shots are applied lock-free: the hit plane is updated with compare-and-set, so any number of threads (players,
+ * bots, spectators) may call {@link #shoot(int, int)} or <code>setSquare</code> and read the board concurrently.
+ * A repeated shot is rejected for all but exactly one caller, and exactly one shot sinks each ship. Changes to the
+ * layout (<code>newGame</code>, <code>clearBoard</code>, <code>moveShip</code>, <code>rotateShip</code>) and
+ * batches must still be made by one thread, before or between the shots.
+ * <p>
+ * The board keeps a Zobrist hash of its state, see {@link #getHash()}, updated with a single XOR whenever a ship
+ * is placed or erased, a square is shot at or a ship sinks.
  *
  * @author Tor Gammelgard
  * @version 2015-10-15
@@ -21,40 +42,133 @@ public class Board implements IBoard {
     public static final int ROWS = 10;
     public static final int COLUMNS = 10;
 
-    private List<List<Square>> board;
+    /** Value of the ship-id plane for a square without a ship */
+    private static final byte NO_SHIP = -1;
+
+    /** Occupied plane, a set bit means there's a ship on the square */
+    private final long[] occupied = new long[BitBoard.WORDS];
+
+    /** Hit plane, a set bit means the square has been shot at */
+    private final AtomicLongArray hit = new AtomicLongArray(BitBoard.WORDS);
+
+    /** Ship-id plane, the id (index in <code>ships</code>) of the ship on each square */
+    private final byte[] shipAt = new byte[BitBoard.CELLS];
+
+    /** Value of <code>shipPlacement</code> for a ship which isn't on the board */
+    private static final int NOT_PLACED = -1;
+
+    /** The current placement (index in {@link Placements}) of each ship, indexed by ship id */
+    private int[] shipPlacement = new int[0];
+
     private List<BoardListener> listeners;
     private List<Ship> ships;
 
+    /** Source of randomness for new layouts */
+    private final SplittableRandom random;
+
+    /** Ready-made layouts for new games, or null to sample them in <code>newGame</code> */
+    private LayoutPool layoutPool;
+
+    /** Live fleet status, updated by <code>shoot</code> */
+    private volatile int shipsSunk, hitCount, missCount;
+
+    private static final AtomicIntegerFieldUpdater<Board> SHIPS_SUNK =
+            AtomicIntegerFieldUpdater.newUpdater(Board.class, "shipsSunk");
+    private static final AtomicIntegerFieldUpdater<Board> HIT_COUNT =
+            AtomicIntegerFieldUpdater.newUpdater(Board.class, "hitCount");
+    private static final AtomicIntegerFieldUpdater<Board> MISS_COUNT =
+            AtomicIntegerFieldUpdater.newUpdater(Board.class, "missCount");
+
+    /** Zobrist hash of the occupied and hit planes and the ships afloat */
+    private volatile long hash;
+
+    private static final AtomicLongFieldUpdater<Board> HASH = AtomicLongFieldUpdater.newUpdater(Board.class, "hash");
+
+    /** Number of ships of each ship type afloat, for the hash */
+    private final AtomicIntegerArray afloat = new AtomicIntegerArray(Ship.ShipType.values().length);
+
+    /** Nesting depth of <code>beginBatch</code> calls */
+    private int batchDepth;
+
+    /** Squares changed during the current batch */
+    private final BitSet dirty = new BitSet(BitBoard.CELLS);
+
     /**
      * A counter for keeping track of how many times the <code>placeShips</code> is called recursively.
      */
     private int fcnCallCounter = 0;
 
     public Board() {
-        listeners = new ArrayList<>();
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Creates a board whose layouts are sampled from a given source of randomness, so a sequence of games can be
+     * reproduced. Layouts taken from a {@link LayoutPool} don't depend on it.
+     *
+     * @param random source of randomness for new layouts
+     */
+    public Board(SplittableRandom random) {
+        this.random = random;
+        listeners = new CopyOnWriteArrayList<>();
         ships = new ArrayList<>();
-        board = new ArrayList<>();
-        for (int i = 0; i < ROWS; i++) {
-            board.add(new ArrayList<>());
-            for (int j = 0; j < COLUMNS; j++) {
-                board.get(i).add(new Square(i, j));
-            }
-        }
+        Arrays.fill(shipAt, NO_SHIP);
     }
 
     /**
-     * Clears and resets the entire board and notifies all the listeners.
+     * Clears and resets the entire board and notifies all the listeners of the squares which were changed.
      */
     public void clearBoard() {
-        for (List<Square> row : board)
-            for (Square square : row) {
-                square.setHit(false);
-                square.setShip(null);
-                square.setOccupied(false);
-            }
+        beginBatch();
+        for (int w = 0; w < BitBoard.WORDS; w++)
+            markChanged(w, occupied[w] | hit.get(w));
+
+        Arrays.fill(occupied, 0L);
+        for (int w = 0; w < BitBoard.WORDS; w++)
+            hit.set(w, 0L);
+        Arrays.fill(shipAt, NO_SHIP);
         ships.clear();
+        shipPlacement = new int[0];
+        shipsSunk = 0;
+        hash = 0;
+        for (int t = 0; t < afloat.length(); t++)
+            afloat.set(t, 0);
+        hitCount = 0;
+        missCount = 0;
+
+        endBatch();
+    }
 
-        fireBoardChanged();
+    /**
+     * Starts a batch of changes. Until the matching <code>endBatch</code>, changed squares are collected instead
+     * of being notified one by one. Batches may be nested.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch of changes. When the outermost batch ends, the listeners are notified once of all squares
+     * changed during the batch.
+     */
+    public void endBatch() {
+        if (batchDepth == 0)
+            throw new IllegalStateException("endBatch without beginBatch");
+        if (--batchDepth == 0 && !dirty.isEmpty()) {
+            fireSquaresChanged(dirty);
+            dirty.clear();
+        }
+    }
+
+    /**
+     * Marks squares as changed during the current batch.
+     *
+     * @param w       a word index in the plane
+     * @param squares word <code>w</code> of a plane of changed squares
+     */
+    private void markChanged(int w, long squares) {
+        for (; squares != 0; squares &= squares - 1)
+            dirty.set((w << 6) + Long.numberOfTrailingZeros(squares));
     }
 
     /**
@@ -66,19 +180,145 @@ public class Board implements IBoard {
      * @return true if the square wasn't already hit
      */
     public boolean setSquare(int row, int col) {
-        Square sq = board.get(row).get(col);
-        if (sq.isHit())
-            return false;
-        else {
-            if (sq.isOccupied()) {
-                sq.getShip().addHit();
+        ShotResult result = shoot(row, col);
+        return result != ShotResult.REPEAT && result != ShotResult.INVALID;
+    }
+
+    /**
+     * Shoots at a square. Safe to call from several threads: of concurrent shots at the same square exactly one
+     * gets through, and of concurrent shots at the same ship exactly one sinks it.
+     *
+     * @param row a row index
+     * @param col a column index
+     *
+     * @return the outcome of the shot
+     */
+    public ShotResult shoot(int row, int col) {
+        if (!isOnBoard(row, col))
+            return ShotResult.INVALID;
+        int index = BitBoard.index(row, col);
+        if (!BitBoard.testAndSet(hit, index))
+            return ShotResult.REPEAT;
+
+        xorHash(Zobrist.hit(index));
+
+        ShotResult result;
+        if (BitBoard.test(occupied, index)) {
+            HIT_COUNT.incrementAndGet(this);
+            Ship ship = ships.get(shipAt[index]);
+            if (!ship.addHit())
+                result = ShotResult.HIT;
+            else {
+                Ship.ShipType type = ship.getShipType();
+                xorHash(Zobrist.afloat(type, afloat.decrementAndGet(type.ordinal())));
+                result = SHIPS_SUNK.incrementAndGet(this) == ships.size() ? ShotResult.VICTORY : ShotResult.SUNK;
             }
-            sq.setHit(true);
+        } else {
+            MISS_COUNT.incrementAndGet(this);
+            result = ShotResult.MISS;
+        }
 
-            fireSquaredChanged(sq);
+        fireSquaredChanged(row, col);
 
-            return true;
-        }
+        return result;
+    }
+
+    /**
+     * Gets the Zobrist hash of the board's state: which squares are occupied, which have been shot at, and the
+     * types of the ships afloat. Equal states have equal hashes, in any board and any run; different states
+     * collide with a probability of about 2<sup>-64</sup>. Ship identities aren't part of the state.
+     *
+     * @return the hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    private void xorHash(long key) {
+        long old;
+        do {
+            old = hash;
+        } while (!HASH.compareAndSet(this, old, old ^ key));
+    }
+
+    /**
+     * @return the number of ships which haven't been sunk
+     */
+    @Override
+    public int getShipsRemaining() {
+        return ships.size() - shipsSunk;
+    }
+
+    /**
+     * @return the number of sunk ships
+     */
+    @Override
+    public int getShipsSunk() {
+        return shipsSunk;
+    }
+
+    /**
+     * @return the number of shots which hit a ship
+     */
+    @Override
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of shots which missed
+     */
+    @Override
+    public int getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return true if there are ships on the board and all of them have been sunk
+     */
+    @Override
+    public boolean isGameOver() {
+        return !ships.isEmpty() && shipsSunk == ships.size();
+    }
+
+    /**
+     * Checks if a square has been shot at, without creating a copy of the square.
+     *
+     * @param row a row index
+     * @param col a column index
+     *
+     * @return true if the square is hit
+     */
+    @Override
+    public boolean isHit(int row, int col) {
+        return BitBoard.test(hit, BitBoard.index(row, col));
+    }
+
+    /**
+     * Checks if there's a ship on a square, without creating a copy of the square.
+     *
+     * @param row a row index
+     * @param col a column index
+     *
+     * @return true if the square is occupied
+     */
+    @Override
+    public boolean isOccupied(int row, int col) {
+        return BitBoard.test(occupied, BitBoard.index(row, col));
+    }
+
+    /**
+     * Gets the ship on a square. The returned ship is the board's own instance and must not be modified.
+     *
+     * @param row a row index
+     * @param col a column index
+     *
+     * @return the ship on the square or null if the square is empty
+     */
+    @Override
+    public Ship getShipAt(int row, int col) {
+        int id = shipAt[BitBoard.index(row, col)];
+        return id == NO_SHIP ? null : ships.get(id);
     }
 
     /**
@@ -90,7 +330,13 @@ public class Board implements IBoard {
      * @return a copy of the square
      */
     public Square getSquare(int row, int col) {
-        return board.get(row).get(col).getCopy();
+        Square square = new Square(row, col);
+        square.setHit(isHit(row, col));
+        square.setOccupied(isOccupied(row, col));
+        Ship ship = getShipAt(row, col);
+        if (ship != null)
+            square.setShip(ship.getCopy());
+        return square;
     }
 
     /**
@@ -115,12 +361,29 @@ public class Board implements IBoard {
     /**
      * Notifies all listeners that a change to a square has been made.
      *
-     * @param sq the square that was changed
+     * @param row the row index of the square that was changed
+     * @param col the column index of the square that was changed
+     */
+    public void fireSquaredChanged(int row, int col) {
+        if (batchDepth > 0) {
+            dirty.set(BitBoard.index(row, col));
+            return;
+        }
+        if (listeners != null) {
+            for (BoardListener listener : listeners)
+                listener.squareChanged(row, col);
+        }
+    }
+
+    /**
+     * Notifies all listeners that a set of squares has been changed.
+     *
+     * @param squares the changed squares, by index <code>row * COLUMNS + col</code>
      */
-    public void fireSquaredChanged(Square sq) {
+    public void fireSquaresChanged(BitSet squares) {
         if (listeners != null) {
             for (BoardListener listener : listeners)
-                listener.squareChanged(sq.row, sq.col);
+                listener.squaresChanged(squares);
         }
     }
 
@@ -168,19 +431,8 @@ public class Board implements IBoard {
      * @return true if the ship can be rotated
      */
     private boolean isLegalRotation(Ship ship) {
-        int r = ship.getRow();
-        int c = ship.getCol();
-
-        Direction oldDirection = ship.getDirection();
-        Direction newDirection = ship.getDirection().getNext();
-
-        ship.setDirection(newDirection);
-        if (!isLegalPlace(ship, r, c)) {
-            ship.setDirection(oldDirection);
-            return false;
-        }
-        ship.setDirection(oldDirection);
-        return true;
+        int p = Placements.index(ship.getShipType(), ship.getDirection().getNext(), ship.getRow(), ship.getCol());
+        return isOnThisBoard(ship) && isLegalPlace(ship.getId(), p);
     }
 
     /**
@@ -197,12 +449,16 @@ public class Board implements IBoard {
 
         Direction newDirection = ship.getDirection().getNext();
 
+        beginBatch();
+
         eraseShip(ship);
 
         ship.setDirection(newDirection);
 
         placeShip(ship, ship.getRow(), ship.getCol());
 
+        endBatch();
+
         return true;
     }
 
@@ -217,12 +473,18 @@ public class Board implements IBoard {
      */
     public boolean moveShip(Ship ship, int row, int col) {
 
-        if (!isOnBoard(row, col) || !isLegalPlace(ship, row, col))
+        if (!isOnBoard(row, col))
+            return false;
+
+        int p = Placements.index(ship.getShipType(), ship.getDirection(), row, col);
+        if (!isOnThisBoard(ship) || !isLegalPlace(ship.getId(), p))
             return false;
 
+        beginBatch();
         eraseShip(ship);
         placeShip(ship, row, col);
         ship.setLocation(row, col);      // update the ship's information of where it is
+        endBatch();
         return true;
     }
 
@@ -232,131 +494,73 @@ public class Board implements IBoard {
      * @param ship the ship to be removed
      */
     private void eraseShip(Ship ship) {
-        int r = ship.getRow();
-        int c = ship.getCol();
-        for (int i = 0; i < ship.getLength(); i++) {
-            board.get(r).get(c).setOccupied(false);
-            board.get(r).get(c).setShip(null);
-            if (ship.getDirection().equals(Direction.RIGHT))
-                c++;
-            else if (ship.getDirection().equals(Direction.DOWN))
-                r++;
-            else if (ship.getDirection().equals(Direction.LEFT))
-                c--;
-            else if (ship.getDirection().equals(Direction.UP))
-                r--;
+        int self = ship.getId();
+        int p = shipPlacement[self];
+        if (p == NOT_PLACED)
+            return;
+        xorHash(Zobrist.occupied(p));
+        for (int w = 0; w < BitBoard.WORDS; w++) {
+            long footprint = Placements.footprint(p, w);
+            occupied[w] &= ~footprint;
+            markChanged(w, footprint);
+            for (; footprint != 0; footprint &= footprint - 1)
+                shipAt[(w << 6) + Long.numberOfTrailingZeros(footprint)] = NO_SHIP;
         }
+        shipPlacement[self] = NOT_PLACED;
     }
 
 
     /**
-     * Checks if the place (r, c) is a legal placement of the ship.
+     * @param ship a ship
      *
-     * @param ship - ship to be placed
-     * @param r    - row
-     * @param c    - col
-     *
-     * @return - true if (r, c) is a legal place
-     */
-    private boolean isLegalPlace(Ship ship, int r, int c) {
-
-        Square sq;
-
-        // behind the ship
-        Coord[] coords = new Coord[ship.getLength() * 2 + 2];
-        Coord[] shipcoords = new Coord[ship.getLength()];
-
-        if (ship.getDirection().equals(Direction.UP))
-            coords[0] = new Coord(r + 1, c);
-        else if (ship.getDirection().equals(Direction.DOWN))
-            coords[0] = new Coord(r - 1, c);
-        else if (ship.getDirection().equals(Direction.LEFT))
-            coords[0] = new Coord(r, c + 1);
-        else if (ship.getDirection().equals(Direction.RIGHT))
-            coords[0] = new Coord(r, c - 1);
-
-        // sides of the ship
-        int counter = 0;
-        for (int i = 0; i < ship.getLength(); i++) {
-            if (ship.getDirection().equals(Direction.UP)) {
-                coords[2 * i + 1] = new Coord(r - i, c - 1);
-                shipcoords[counter++] = new Coord(r - i, c);
-                coords[2 * i + 2] = new Coord(r - i, c + 1);
-            } else if (ship.getDirection().equals(Direction.DOWN)) {
-                coords[2 * i + 1] = new Coord(r + i, c - 1);
-                shipcoords[counter++] = new Coord(r + i, c);
-                coords[2 * i + 2] = new Coord(r + i, c + 1);
-            } else if (ship.getDirection().equals(Direction.LEFT)) {
-                coords[2 * i + 1] = new Coord(r - 1, c - i);
-                shipcoords[counter++] = new Coord(r, c - i);
-                coords[2 * i + 2] = new Coord(r + 1, c - i);
-            } else if (ship.getDirection().equals(Direction.RIGHT)) {
-                coords[2 * i + 1] = new Coord(r - 1, c + i);
-                shipcoords[counter++] = new Coord(r, c + i);
-                coords[2 * i + 2] = new Coord(r + 1, c + i);
-            }
-        }
-
-        // forward of the coord
-        if (ship.getDirection().equals(Direction.UP))
-            coords[coords.length - 1] = new Coord(r - ship.getLength(), c);
-        else if (ship.getDirection().equals(Direction.DOWN))
-            coords[coords.length - 1] = new Coord(r + ship.getLength(), c);
-        else if (ship.getDirection().equals(Direction.LEFT))
-            coords[coords.length - 1] = new Coord(r, c - ship.getLength());
-        else if (ship.getDirection().equals(Direction.RIGHT))
-            coords[coords.length - 1] = new Coord(r, c + ship.getLength());
-
-
-        for (Coord coord : shipcoords) {
-            if (!isOnBoard(coord.getR(), coord.getC()))
-                return false;
-        }
-
-        for (Coord coord : shipcoords) {
-            sq = board.get(coord.getR()).get(coord.getC());
-            if (sq.isOccupied() && sq.getShip() != ship)
-                return false;
-        }
+     * @return true if the ship belongs to the fleet of this board
+     */
+    private boolean isOnThisBoard(Ship ship) {
+        int id = ship.getId();
+        return id >= 0 && id < ships.size() && ships.get(id) == ship;
+    }
 
-        for (Coord coord : coords) {
-            if (isOnBoard(coord.getR(), coord.getC())) {
-                sq = board.get(coord.getR()).get(coord.getC());
-                if (sq.isOccupied() && sq.getShip() != ship)
-                    return false;
-            }
+    /**
+     * Adds ships to the fleet of this board, giving them the ids 0 to <code>s.length - 1</code>.
+     *
+     * @param s the ships of the new game
+     */
+    private void addFleet(Ship[] s) {
+        for (int i = 0; i < s.length; i++) {
+            s[i].setId(i);
+            Ship.ShipType type = s[i].getShipType();
+            xorHash(Zobrist.afloat(type, afloat.getAndIncrement(type.ordinal())));
+            ships.add(s[i]);
         }
-
-        return true;
+        shipPlacement = new int[s.length];
+        Arrays.fill(shipPlacement, NOT_PLACED);
     }
 
     /**
-     * A helper class for representing a location.
+     * Checks if a placement is legal for a ship, i.e. it's on the board and its zone (the footprint and the
+     * squares behind, in front of and beside it) isn't occupied by another ship.
+     * The ship's own squares are ignored, so a ship on the board can be checked against a new placement.
+     *
+     * @param self the id of the ship
+     * @param p    the placement index, see {@link Placements}
+     *
+     * @return - true if the placement is legal
      */
-    private class Coord {
-        private int r, c;
+    private boolean isLegalPlace(int self, int p) {
 
-        Coord(int r, int c) {
-            this.r = r;
-            this.c = c;
-        }
+        if (!Placements.isValid(p))
+            return false;
 
-        /**
-         * @return the row
-         */
-        int getR() {
-            return r;
+        int own = shipPlacement[self];
+        for (int w = 0; w < BitBoard.WORDS; w++) {
+            long others = own == NOT_PLACED ? occupied[w] : occupied[w] & ~Placements.footprint(own, w);
+            if ((Placements.zone(p, w) & others) != 0)
+                return false;
         }
 
-        /**
-         * @return the column
-         */
-        int getC() {
-            return c;
-        }
+        return true;
     }
 
-
     /**
      * Tries to place the ship (with internal direction) at (r, c)
      *
@@ -368,22 +572,24 @@ public class Board implements IBoard {
      */
     private boolean placeShip(Ship ship, int r, int c) {
 
-        if (!isLegalPlace(ship, r, c))
+        if (!isOnBoard(r, c))
+            return false;
+
+        int self = ship.getId();
+        int p = Placements.index(ship.getShipType(), ship.getDirection(), r, c);
+        if (!isLegalPlace(self, p))
             return false;
         else {
             ship.setLocation(r, c);
-            for (int i = 0; i < ship.getLength(); i++) {
-                board.get(r).get(c).setOccupied(true);
-                board.get(r).get(c).setShip(ship);
-                if (ship.getDirection().equals(Direction.RIGHT))
-                    c++;
-                else if (ship.getDirection().equals(Direction.DOWN))
-                    r++;
-                else if (ship.getDirection().equals(Direction.LEFT))
-                    c--;
-                else if (ship.getDirection().equals(Direction.UP))
-                    r--;
+            xorHash(Zobrist.occupied(p));
+            for (int w = 0; w < BitBoard.WORDS; w++) {
+                long footprint = Placements.footprint(p, w);
+                occupied[w] |= footprint;
+                markChanged(w, footprint);
+                for (; footprint != 0; footprint &= footprint - 1)
+                    shipAt[(w << 6) + Long.numberOfTrailingZeros(footprint)] = (byte) self;
             }
+            shipPlacement[self] = p;
         }
 
         return true;
@@ -435,6 +641,9 @@ public class Board implements IBoard {
     /**
      * Tries to place all ships randomly on the board by first placing them on the board and then
      * randomly tries to rotate and move them (1000 times).
+     * <p>
+     * This was the placement used by <code>newGame</code> before {@link FleetSampler}. It's kept for comparison,
+     * see <code>SamplerStats</code> in the test sources.
      *
      * @param s an array of ships to be placed
      *
@@ -444,7 +653,7 @@ public class Board implements IBoard {
 
         fcnCallCounter = 0;
 
-        Collections.addAll(ships, s);
+        addFleet(s);
 
         // Upper constraint : if the total length of all ships is greater than the
         // total number of squares on the board, then placement is impossible.
@@ -473,7 +682,7 @@ public class Board implements IBoard {
         int inc;                    // randomly picked increment (-1 or 1)
         Ship ship;                  // randomly picked ship to be moved
 
-        while (c < 1000 || numberOfTries > 10000) {
+        while (c < 1000 && numberOfTries < 10000) {
             numberOfTries++;
             ship = ships.get(rand.nextInt(ships.size()));
             tmp = rand.nextInt(3);
@@ -494,7 +703,16 @@ public class Board implements IBoard {
     }
 
     /**
-     * Starts a new game.
+     * Sets a pool of ready-made layouts to be used by <code>newGame</code>.
+     *
+     * @param layoutPool a layout pool, or null to sample a layout for each new game
+     */
+    public void setLayoutPool(LayoutPool layoutPool) {
+        this.layoutPool = layoutPool;
+    }
+
+    /**
+     * Starts a new game. The listeners are notified once of all squares changed by the new layout.
      *
      * @param ships an array of ships
      *
@@ -502,15 +720,77 @@ public class Board implements IBoard {
      */
     public boolean newGame(Ship[] ships) {
 
+        beginBatch();
+        try {
+            return startNewGame(ships);
+        } finally {
+            endBatch();
+        }
+    }
+
+    private boolean startNewGame(Ship[] ships) {
+
         clearBoard();
 
-        return placeAllShipsRandomly(ships);
+        int[] layout;
+        if (layoutPool != null) {
+            layout = layoutPool.take(FleetSampler.typesOf(ships));
+            if (layout == null)
+                return false;
+        } else {
+            layout = new int[ships.length];
+            if (!new FleetSampler(FleetSampler.typesOf(ships)).sample(random, layout))
+                return false;
+        }
 
+        return placeLayout(ships, layout);
+
+    }
+
+    /**
+     * Starts a new game with the old placement algorithm (move and rotate the ships of a deterministic layout).
+     *
+     * @param ships an array of ships
+     *
+     * @return true if a new game was started
+     */
+    boolean newGameByShuffling(Ship[] ships) {
+
+        beginBatch();
+        try {
+            clearBoard();
+            return placeAllShipsRandomly(ships);
+        } finally {
+            endBatch();
+        }
+
+    }
+
+    /**
+     * Places the ships according to a layout.
+     *
+     * @param s      an array of ships to be placed
+     * @param layout the placement index (see {@link Placements}) of each ship
+     *
+     * @return true if all the ships were successfully placed
+     */
+    boolean placeLayout(Ship[] s, int[] layout) {
+
+        addFleet(s);
+
+        for (int i = 0; i < s.length; i++) {
+            int p = layout[i];
+            s[i].setDirection(Placements.direction(p));
+            if (!placeShip(s[i], Placements.row(p), Placements.col(p)))
+                return false;
+        }
+        return true;
     }
 
     /**
      * A basic component of the <code>Board</code>
      * Holds information such as hit, occupied and ship occupying the square.
+     * Squares are snapshots created on demand by {@link #getSquare(int, int)}.
      */
     public class Square {
 
@@ -0,0 +1,136 @@
+package model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates large numbers of fleet layouts in parallel, for tournaments and simulations.
+ * <p>
+ * The work is split in chunks over a <code>ForkJoinPool</code>. Every chunk samples its layouts with its own
+ * {@link FleetSampler} and its own <code>SplittableRandom</code>, split off the root generator along the task
+ * tree, so the result for a given seed doesn't depend on the number of threads or on scheduling. No
+ * <code>Board</code>s are created: layouts are written as placement indices (see {@link Placements}), one
+ * <code>short</code> per ship, with layout <code>n</code> starting at <code>n * fleetSize</code>.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see FleetSampler
+ */
+public class BulkLayoutGenerator {
+
+    /** Number of layouts generated by a single task */
+    public static final int CHUNK_SIZE = 4096;
+
+    /**
+     * Receives chunks of generated layouts. Chunks arrive from several threads and in no particular order.
+     */
+    public interface LayoutSink {
+
+        /**
+         * Invoked when a chunk of layouts is ready. The array must not be kept after the call returns.
+         *
+         * @param first   index of the first layout in the chunk
+         * @param count   number of layouts in the chunk
+         * @param layouts the encoded layouts, <code>count * fleetSize</code> placement indices
+         */
+        void accept(long first, int count, short[] layouts);
+    }
+
+    private final Ship.ShipType[] fleet;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param fleet the ship types of the fleet
+     */
+    public BulkLayoutGenerator(Ship.ShipType[] fleet) {
+        this(fleet, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param fleet the ship types of the fleet
+     * @param pool  the pool running the work
+     */
+    public BulkLayoutGenerator(Ship.ShipType[] fleet, ForkJoinPool pool) {
+        this.fleet = fleet.clone();
+        this.pool = pool;
+    }
+
+    /**
+     * @return the number of ships, i.e. placement indices, in each layout
+     */
+    public int getFleetSize() {
+        return fleet.length;
+    }
+
+    /**
+     * Generates layouts into one array.
+     *
+     * @param count number of layouts
+     * @param seed  seed of the root random generator
+     *
+     * @return the encoded layouts, <code>count * fleetSize</code> placement indices
+     */
+    public short[] generate(int count, long seed) {
+        short[] all = new short[Math.multiplyExact(count, fleet.length)];
+        generate(count, seed, (first, n, layouts) ->
+                System.arraycopy(layouts, 0, all, (int) first * fleet.length, n * fleet.length));
+        return all;
+    }
+
+    /**
+     * Generates layouts and streams them to a sink in chunks.
+     *
+     * @param count number of layouts
+     * @param seed  seed of the root random generator
+     * @param sink  receiver of the chunks, must be thread safe
+     *
+     * @throws IllegalStateException if the fleet can't be placed
+     */
+    public void generate(long count, long seed, LayoutSink sink) {
+        pool.invoke(new Task(0, count, new SplittableRandom(seed), sink));
+    }
+
+    /**
+     * Generates the layouts in [from, to), splitting the range in halves down to a chunk.
+     */
+    private class Task extends RecursiveAction {
+
+        private final long from, to;
+        private final SplittableRandom random;
+        private final LayoutSink sink;
+
+        Task(long from, long to, SplittableRandom random, LayoutSink sink) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.sink = sink;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                generateChunk();
+                return;
+            }
+            long mid = from + (to - from) / 2;
+            Task left = new Task(from, mid, random.split(), sink);
+            Task right = new Task(mid, to, random, sink);
+            invokeAll(left, right);
+        }
+
+        private void generateChunk() {
+            int n = (int) (to - from);
+            FleetSampler sampler = new FleetSampler(fleet);
+            int[] layout = new int[fleet.length];
+            short[] chunk = new short[n * fleet.length];
+            for (int i = 0; i < n; i++) {
+                if (!sampler.sample(random, layout))
+                    throw new IllegalStateException("the fleet can't be placed on the board");
+                for (int j = 0; j < fleet.length; j++)
+                    chunk[i * fleet.length + j] = (short) layout[j];
+            }
+            sink.accept(from, n, chunk);
+        }
+    }
+}
@@ -8,10 +8,31 @@ package model;
  * @see Ship
  */
 public enum Direction {
-    UP,
-    RIGHT,
-    DOWN,
-    LEFT;
+    UP(-1, 0),
+    RIGHT(0, 1),
+    DOWN(1, 0),
+    LEFT(0, -1);
+
+    private int rowStep, colStep;
+
+    Direction(int rowStep, int colStep) {
+        this.rowStep = rowStep;
+        this.colStep = colStep;
+    }
+
+    /**
+     * @return the change in row index when moving one square in this direction
+     */
+    public int getRowStep() {
+        return rowStep;
+    }
+
+    /**
+     * @return the change in column index when moving one square in this direction
+     */
+    public int getColStep() {
+        return colStep;
+    }
 
     /**
      * Cyclic getNext method
@@ -0,0 +1,223 @@
+package model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples random fleet layouts, i.e. a legal placement for every ship in a fleet, in bounded time and with a
+ * near-uniform distribution over all legal layouts.
+ * <p>
+ * A layout is first built by placing the ships one at a time, longest first, each at a placement picked uniformly
+ * among the ones still legal, restarting on a dead end. It is then mixed by a fixed number of sweeps of heat-bath
+ * moves: every ship in turn is lifted off the board and put back at a placement picked uniformly among the ones
+ * legal given the other ships. Each move leaves the uniform distribution over legal layouts unchanged, so the
+ * sweeps converge towards it. A fleet of one ship is sampled exactly uniformly.
+ * <p>
+ * A layout is written as placement indices (see {@link Placements}), one for each ship in the order of the fleet.
+ * A sampler keeps scratch state and must only be used by one thread at a time.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see Board#newGame(Ship[])
+ */
+public class FleetSampler {
+
+    /** Default number of mixing sweeps over the fleet */
+    public static final int DEFAULT_SWEEPS = 16;
+
+    /** Number of times the sequential placement may hit a dead end before falling back to backtracking */
+    private static final int MAX_RESTARTS = 64;
+
+    /** Upper limit of placement attempts for the backtracking fallback */
+    private static final int MAX_BACKTRACK_STEPS = 1000000;
+
+    private final Ship.ShipType[] fleet;
+    private final int sweeps;
+
+    /** Fleet indices ordered by ship length, longest first */
+    private final int[] order;
+
+    /** Union of the footprints of the placed ships */
+    private final long[] occupied = new long[BitBoard.WORDS];
+
+    /** Scratch buffer for legal placements */
+    private final int[] legal;
+
+    private int backtrackSteps;
+
+    /**
+     * @param fleet the ship types of the fleet
+     */
+    public FleetSampler(Ship.ShipType[] fleet) {
+        this(fleet, DEFAULT_SWEEPS);
+    }
+
+    /**
+     * @param fleet  the ship types of the fleet
+     * @param sweeps number of mixing sweeps over the fleet, 0 for sequential placement only
+     */
+    public FleetSampler(Ship.ShipType[] fleet, int sweeps) {
+        this.fleet = fleet.clone();
+        this.sweeps = sweeps;
+
+        Integer[] byLength = new Integer[fleet.length];
+        for (int i = 0; i < fleet.length; i++)
+            byLength[i] = i;
+        Arrays.sort(byLength, (a, b) -> fleet[b].getLength() - fleet[a].getLength());
+        order = new int[fleet.length];
+        for (int i = 0; i < fleet.length; i++)
+            order[i] = byLength[i];
+
+        int max = 0;
+        for (Ship.ShipType type : fleet)
+            max = Math.max(max, Placements.valid(type).length);
+        legal = new int[max];
+    }
+
+    /**
+     * @param ships an array of ships
+     *
+     * @return the ship type of each ship
+     */
+    public static Ship.ShipType[] typesOf(Ship[] ships) {
+        Ship.ShipType[] types = new Ship.ShipType[ships.length];
+        for (int i = 0; i < ships.length; i++)
+            types[i] = ships[i].getShipType();
+        return types;
+    }
+
+    /**
+     * @return the number of ships in the fleet
+     */
+    public int getFleetSize() {
+        return fleet.length;
+    }
+
+    /**
+     * Samples a layout.
+     *
+     * @param random a source of randomness
+     * @param layout receives the placement of each ship, must have room for the whole fleet
+     *
+     * @return true if a layout was found
+     */
+    public boolean sample(SplittableRandom random, int[] layout) {
+        int totLength = 0;
+        for (Ship.ShipType type : fleet)
+            totLength += type.getLength();
+        if (totLength > BitBoard.CELLS)
+            return false;
+
+        if (!placeSequentially(random, layout)) {
+            Arrays.fill(occupied, 0L);
+            backtrackSteps = 0;
+            if (!backtrack(random, layout, 0))
+                return false;
+        }
+
+        for (int sweep = 0; sweep < sweeps; sweep++)
+            for (int i = 0; i < fleet.length; i++) {
+                remove(layout[i]);
+                layout[i] = pickLegal(random, fleet[i]);
+                add(layout[i]);
+            }
+
+        Arrays.fill(occupied, 0L);
+        return true;
+    }
+
+    /**
+     * Places the ships one at a time at a uniformly picked legal placement.
+     *
+     * @param random a source of randomness
+     * @param layout receives the placements
+     *
+     * @return true if all ships were placed within <code>MAX_RESTARTS</code> tries
+     */
+    private boolean placeSequentially(SplittableRandom random, int[] layout) {
+        for (int tries = 0; tries < MAX_RESTARTS; tries++) {
+            Arrays.fill(occupied, 0L);
+            int placed = 0;
+            for (int i : order) {
+                int p = pickLegal(random, fleet[i]);
+                if (p < 0)
+                    break;
+                layout[i] = p;
+                add(p);
+                placed++;
+            }
+            if (placed == fleet.length)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Picks a placement uniformly among the placements of a ship type which are legal given the placed ships.
+     *
+     * @param random a source of randomness
+     * @param type   the ship type
+     *
+     * @return a placement index, or -1 if there's no legal placement
+     */
+    private int pickLegal(SplittableRandom random, Ship.ShipType type) {
+        int n = 0;
+        for (int p : Placements.valid(type))
+            if (fits(p))
+                legal[n++] = p;
+        return n == 0 ? -1 : legal[random.nextInt(n)];
+    }
+
+    /**
+     * Exhaustive placement with a random starting point for each ship, used when the sequential placement keeps
+     * running into dead ends (very dense fleets).
+     *
+     * @param random a source of randomness
+     * @param layout receives the placements
+     * @param k      position in <code>order</code> of the ship to place
+     *
+     * @return true if the remaining ships were placed
+     */
+    private boolean backtrack(SplittableRandom random, int[] layout, int k) {
+        if (k == order.length)
+            return true;
+        int i = order[k];
+        int[] candidates = Placements.valid(fleet[i]);
+        int start = random.nextInt(candidates.length);
+        for (int j = 0; j < candidates.length; j++) {
+            if (++backtrackSteps > MAX_BACKTRACK_STEPS)
+                return false;
+            int p = candidates[(start + j) % candidates.length];
+            if (!fits(p))
+                continue;
+            layout[i] = p;
+            add(p);
+            if (backtrack(random, layout, k + 1))
+                return true;
+            remove(p);
+        }
+        return false;
+    }
+
+    /**
+     * @param p a placement index
+     *
+     * @return true if the placement's zone doesn't touch any placed ship
+     */
+    private boolean fits(int p) {
+        for (int w = 0; w < BitBoard.WORDS; w++)
+            if ((Placements.zone(p, w) & occupied[w]) != 0)
+                return false;
+        return true;
+    }
+
+    private void add(int p) {
+        for (int w = 0; w < BitBoard.WORDS; w++)
+            occupied[w] |= Placements.footprint(p, w);
+    }
+
+    private void remove(int p) {
+        for (int w = 0; w < BitBoard.WORDS; w++)
+            occupied[w] &= ~Placements.footprint(p, w);
+    }
+}
@@ -0,0 +1,344 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compact store for a large number of games, for hosting many idle games in one JVM.
+ * <p>
+ * Instead of a <code>Board</code> with its ships, lists and listeners, every game is a fixed-size record of
+ * <code>RECORD_BYTES</code> bytes in a slab, a <code>ByteBuffer</code> on the heap or off-heap (direct) holding
+ * <code>SLAB_GAMES</code> records. A record holds the hit and occupied planes, the placement index of each ship
+ * (see {@link Placements}), the hits to each ship and the fleet counters. Games are referred to by an int handle,
+ * and <code>Ship</code>s and whole <code>Board</code>s are created from a record on demand. Released records are
+ * reused by later games.
+ * <p>
+ * Record layout (offsets in bytes):
+ * <pre>
+ *  0  hit plane, 2 longs
+ * 16  occupied plane, 2 longs
+ * 32  fleet size (-1 once released), ships sunk, hit count and miss count, 1 byte each
+ * 36  placement of each ship, MAX_FLEET shorts
+ * 60  hits to each ship, MAX_FLEET bytes
+ * </pre>
+ * A store isn't thread safe; give every thread its own store, or shard the games over stores.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class GameStore {
+
+    /** Largest number of ships in a game */
+    public static final int MAX_FLEET = 12;
+
+    /** Size of a game record in bytes */
+    public static final int RECORD_BYTES = 72;
+
+    /** Number of game records in a slab */
+    public static final int SLAB_GAMES = 1 << 14;
+
+    private static final int HIT = 0;
+    private static final int OCCUPIED = HIT + 8 * BitBoard.WORDS;
+    private static final int FLEET_SIZE = OCCUPIED + 8 * BitBoard.WORDS;
+    private static final int SHIPS_SUNK = FLEET_SIZE + 1;
+    private static final int HIT_COUNT = SHIPS_SUNK + 1;
+    private static final int MISS_COUNT = HIT_COUNT + 1;
+    private static final int PLACEMENTS = MISS_COUNT + 1;
+    private static final int SHIP_HITS = PLACEMENTS + 2 * MAX_FLEET;
+
+    private static final int SLAB_SHIFT = Integer.numberOfTrailingZeros(SLAB_GAMES);
+
+    /** Fleet size of a released record */
+    private static final byte RELEASED = -1;
+
+    private final boolean direct;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+
+    /** Number of records ever handed out, released ones included */
+    private int allocated;
+
+    /** Handles of released records */
+    private int[] free = new int[16];
+    private int freeCount;
+
+    /**
+     * Creates a store with slabs on the heap.
+     */
+    public GameStore() {
+        this(false);
+    }
+
+    /**
+     * @param direct true to allocate the slabs off-heap
+     */
+    public GameStore(boolean direct) {
+        this.direct = direct;
+    }
+
+    /**
+     * Creates a game.
+     *
+     * @param layout the placement index of each ship, see {@link Placements}
+     *
+     * @return a handle to the game
+     *
+     * @throws IllegalArgumentException if the fleet has more than <code>MAX_FLEET</code> ships, a placement is
+     *                                  invalid or off the board, or two ships overlap or touch
+     */
+    public int create(int[] layout) {
+        if (layout.length > MAX_FLEET)
+            throw new IllegalArgumentException("more than " + MAX_FLEET + " ships");
+        long[] occupied = new long[BitBoard.WORDS];
+        for (int p : layout) {
+            if (!Placements.isValid(p))
+                throw new IllegalArgumentException("invalid placement " + p);
+            for (int w = 0; w < BitBoard.WORDS; w++)
+                if ((Placements.zone(p, w) & occupied[w]) != 0)
+                    throw new IllegalArgumentException("placement " + p + " overlaps or touches another ship");
+            for (int w = 0; w < BitBoard.WORDS; w++)
+                occupied[w] |= Placements.footprint(p, w);
+        }
+
+        int game = freeCount > 0 ? free[--freeCount] : allocate();
+        ByteBuffer slab = slabOf(game);
+        int base = offsetOf(game);
+        for (int i = 0; i < RECORD_BYTES; i += 8)
+            slab.putLong(base + i, 0L);
+
+        slab.put(base + FLEET_SIZE, (byte) layout.length);
+        for (int i = 0; i < layout.length; i++) {
+            slab.putShort(base + PLACEMENTS + 2 * i, (short) layout[i]);
+            for (int w = 0; w < BitBoard.WORDS; w++) {
+                int at = base + OCCUPIED + 8 * w;
+                slab.putLong(at, slab.getLong(at) | Placements.footprint(layout[i], w));
+            }
+        }
+        return game;
+    }
+
+    /**
+     * Releases a game. Its handle may be handed out again by <code>create</code>.
+     *
+     * @param game a game handle
+     *
+     * @throws IllegalArgumentException if the handle wasn't handed out by this store or the game has already been
+     *                                  released
+     */
+    public void release(int game) {
+        if (game < 0 || game >= allocated)
+            throw new IllegalArgumentException("unknown game " + game);
+        ByteBuffer slab = slabOf(game);
+        int at = offsetOf(game) + FLEET_SIZE;
+        if (slab.get(at) == RELEASED)
+            throw new IllegalArgumentException("game " + game + " already released");
+        slab.put(at, RELEASED);
+        if (freeCount == free.length)
+            free = Arrays.copyOf(free, 2 * free.length);
+        free[freeCount++] = game;
+    }
+
+    /**
+     * @return the number of games in the store
+     */
+    public int getGameCount() {
+        return allocated - freeCount;
+    }
+
+    /**
+     * @return the number of bytes allocated for slabs
+     */
+    public long getSlabBytes() {
+        return (long) slabs.size() * SLAB_GAMES * RECORD_BYTES;
+    }
+
+    /**
+     * Shoots at a square.
+     *
+     * @param game a game handle
+     * @param row  a row index
+     * @param col  a column index
+     *
+     * @return the outcome of the shot
+     */
+    public ShotResult shoot(int game, int row, int col) {
+        if (row < 0 || row >= Board.ROWS || col < 0 || col >= Board.COLUMNS)
+            return ShotResult.INVALID;
+        ByteBuffer slab = slabOf(game);
+        int base = offsetOf(game);
+        int index = BitBoard.index(row, col);
+        int w = index >>> 6;
+        long bit = 1L << index;
+
+        long hit = slab.getLong(base + HIT + 8 * w);
+        if ((hit & bit) != 0)
+            return ShotResult.REPEAT;
+        slab.putLong(base + HIT + 8 * w, hit | bit);
+
+        if ((slab.getLong(base + OCCUPIED + 8 * w) & bit) == 0) {
+            increment(slab, base + MISS_COUNT);
+            return ShotResult.MISS;
+        }
+        increment(slab, base + HIT_COUNT);
+
+        int fleetSize = slab.get(base + FLEET_SIZE);
+        for (int i = 0; i < fleetSize; i++) {
+            int p = slab.getShort(base + PLACEMENTS + 2 * i);
+            if ((Placements.footprint(p, w) & bit) == 0)
+                continue;
+            if (increment(slab, base + SHIP_HITS + i) < Placements.type(p).getLength())
+                return ShotResult.HIT;
+            return increment(slab, base + SHIPS_SUNK) == fleetSize ? ShotResult.VICTORY : ShotResult.SUNK;
+        }
+        throw new IllegalStateException("occupied square without a ship");
+    }
+
+    /**
+     * @param game a game handle
+     * @param row  a row index
+     * @param col  a column index
+     *
+     * @return true if the square has been shot at
+     */
+    public boolean isHit(int game, int row, int col) {
+        return test(game, HIT, BitBoard.index(row, col));
+    }
+
+    /**
+     * @param game a game handle
+     * @param row  a row index
+     * @param col  a column index
+     *
+     * @return true if there's a ship on the square
+     */
+    public boolean isOccupied(int game, int row, int col) {
+        return test(game, OCCUPIED, BitBoard.index(row, col));
+    }
+
+    /**
+     * @param game a game handle
+     *
+     * @return the number of ships in the game
+     */
+    public int getFleetSize(int game) {
+        return slabOf(game).get(offsetOf(game) + FLEET_SIZE);
+    }
+
+    /**
+     * @param game a game handle
+     *
+     * @return the number of sunk ships
+     */
+    public int getShipsSunk(int game) {
+        return slabOf(game).get(offsetOf(game) + SHIPS_SUNK);
+    }
+
+    /**
+     * @param game a game handle
+     *
+     * @return the number of shots which hit a ship
+     */
+    public int getHitCount(int game) {
+        return slabOf(game).get(offsetOf(game) + HIT_COUNT);
+    }
+
+    /**
+     * @param game a game handle
+     *
+     * @return the number of shots which missed
+     */
+    public int getMissCount(int game) {
+        return slabOf(game).get(offsetOf(game) + MISS_COUNT);
+    }
+
+    /**
+     * @param game a game handle
+     *
+     * @return true if there are ships in the game and all of them have been sunk
+     */
+    public boolean isGameOver(int game) {
+        int fleetSize = getFleetSize(game);
+        return fleetSize > 0 && getShipsSunk(game) == fleetSize;
+    }
+
+    /**
+     * Creates a ship from a game record. Changes to the ship aren't written back to the store.
+     *
+     * @param game a game handle
+     * @param id   the ship's index in the fleet
+     *
+     * @return a new ship with the state of the ship in the game
+     *
+     * @throws IllegalArgumentException if there's no ship with the id in the game
+     */
+    public Ship getShip(int game, int id) {
+        if (id < 0 || id >= getFleetSize(game))
+            throw new IllegalArgumentException("no ship " + id + " in game " + game);
+        ByteBuffer slab = slabOf(game);
+        int base = offsetOf(game);
+        return Ship.view(slab.getShort(base + PLACEMENTS + 2 * id), slab.get(base + SHIP_HITS + id), id);
+    }
+
+    /**
+     * Creates a board from a game record, e.g. to show a stored game in the view. Changes to the board aren't
+     * written back to the store.
+     *
+     * @param game a game handle
+     *
+     * @return a new board with the ships and shots of the game
+     */
+    public Board toBoard(int game) {
+        ByteBuffer slab = slabOf(game);
+        int base = offsetOf(game);
+        int fleetSize = getFleetSize(game);
+        Ship[] ships = new Ship[fleetSize];
+        int[] layout = new int[fleetSize];
+        for (int i = 0; i < fleetSize; i++) {
+            layout[i] = slab.getShort(base + PLACEMENTS + 2 * i);
+            ships[i] = Ship.createShip(Placements.type(layout[i]));
+        }
+
+        Board board = new Board();
+        board.beginBatch();
+        board.placeLayout(ships, layout);
+        for (int index = 0; index < BitBoard.CELLS; index++)
+            if (test(game, HIT, index))
+                board.shoot(index / Board.COLUMNS, index % Board.COLUMNS);
+        board.endBatch();
+        return board;
+    }
+
+    private boolean test(int game, int plane, int index) {
+        return (slabOf(game).getLong(offsetOf(game) + plane + 8 * (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    /**
+     * Increments a counter byte.
+     *
+     * @return the new value
+     */
+    private static int increment(ByteBuffer slab, int at) {
+        byte value = (byte) (slab.get(at) + 1);
+        slab.put(at, value);
+        return value;
+    }
+
+    private int allocate() {
+        if (allocated == slabs.size() * SLAB_GAMES) {
+            int bytes = SLAB_GAMES * RECORD_BYTES;
+            ByteBuffer slab = direct ? ByteBuffer.allocateDirect(bytes) : ByteBuffer.allocate(bytes);
+            slabs.add(slab.order(ByteOrder.nativeOrder()));
+        }
+        return allocated++;
+    }
+
+    private ByteBuffer slabOf(int game) {
+        return slabs.get(game >>> SLAB_SHIFT);
+    }
+
+    private static int offsetOf(int game) {
+        return (game & (SLAB_GAMES - 1)) * RECORD_BYTES;
+    }
+}
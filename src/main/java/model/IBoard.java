@@ -13,10 +13,69 @@ import java.util.ArrayList;
  * @see Board
  */
 public interface IBoard {
+    /**
+     * Gets a snapshot of a square. Prefer the primitive getters, which don't create any objects.
+     *
+     * @param r a row index
+     * @param c a column index
+     *
+     * @return a copy of the square
+     */
     Board.Square getSquare(int r, int c);
 
+    /**
+     * @param r a row index
+     * @param c a column index
+     *
+     * @return true if the square has been shot at
+     */
+    boolean isHit(int r, int c);
+
+    /**
+     * @param r a row index
+     * @param c a column index
+     *
+     * @return true if there's a ship on the square
+     */
+    boolean isOccupied(int r, int c);
+
+    /**
+     * Gets the ship on a square without copying it. The ship must only be read.
+     *
+     * @param r a row index
+     * @param c a column index
+     *
+     * @return the ship on the square or null if the square is empty
+     */
+    Ship getShipAt(int r, int c);
+
     ArrayList<Ship> getShips();
 
+    /**
+     * @return the number of ships which haven't been sunk
+     */
+    int getShipsRemaining();
+
+    /**
+     * @return the number of sunk ships
+     */
+    int getShipsSunk();
+
+    /**
+     * @return the number of shots which hit a ship
+     */
+    int getHitCount();
+
+    /**
+     * @return the number of shots which missed
+     */
+    int getMissCount();
+
+    /**
+     * @return true if all ships have been sunk
+     */
+    boolean isGameOver();
+
     void addListener(BoardListener boardListener);
 
     void removeListener(BoardListener boardListener);
@@ -0,0 +1,157 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of ready-made fleet layouts, so a new game doesn't have to wait for {@link FleetSampler}.
+ * <p>
+ * The pool keeps up to <code>capacity</code> layouts for each fleet configuration (the sequence of ship types)
+ * and refills them on a background thread whenever a layout is taken. If the pool for a fleet is empty, the
+ * layout is sampled on the calling thread instead. Hits, misses and refilled layouts are counted for monitoring.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see Board#setLayoutPool(LayoutPool)
+ */
+public class LayoutPool {
+
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private final int capacity;
+    private final ConcurrentHashMap<List<Ship.ShipType>, Pool> pools = new ConcurrentHashMap<>();
+    private final ExecutorService refiller;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refills = new AtomicLong();
+
+    public LayoutPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity number of layouts to keep for each fleet configuration
+     */
+    public LayoutPool(int capacity) {
+        this.capacity = capacity;
+        refiller = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "layout-pool-refiller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts filling the pool for a fleet configuration in the background.
+     *
+     * @param fleet the ship types of the fleet
+     */
+    public void prepare(Ship.ShipType[] fleet) {
+        poolFor(fleet).scheduleRefill();
+    }
+
+    /**
+     * Takes a layout from the pool, or samples one on the calling thread if the pool is empty.
+     *
+     * @param fleet the ship types of the fleet
+     *
+     * @return the placement index of each ship, or null if the fleet can't be placed
+     */
+    public int[] take(Ship.ShipType[] fleet) {
+        Pool pool = poolFor(fleet);
+        int[] layout = pool.layouts.poll();
+        pool.scheduleRefill();
+        if (layout != null) {
+            hits.incrementAndGet();
+            return layout;
+        }
+        misses.incrementAndGet();
+        layout = new int[fleet.length];
+        return new FleetSampler(fleet).sample(new SplittableRandom(), layout) ? layout : null;
+    }
+
+    /**
+     * @return number of layouts taken from the pool
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of layouts which had to be sampled by the caller since the pool was empty
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of layouts added to the pool by the background thread
+     */
+    public long getRefills() {
+        return refills.get();
+    }
+
+    /**
+     * Stops the background thread. Layouts can still be taken, but the pool isn't refilled.
+     */
+    public void shutdown() {
+        refiller.shutdownNow();
+    }
+
+    private Pool poolFor(Ship.ShipType[] fleet) {
+        return pools.computeIfAbsent(Arrays.asList(fleet.clone()), Pool::new);
+    }
+
+    /**
+     * The layouts of one fleet configuration.
+     */
+    private class Pool {
+
+        private final Ship.ShipType[] fleet;
+        private final BlockingQueue<int[]> layouts = new ArrayBlockingQueue<>(capacity);
+        private final AtomicBoolean refilling = new AtomicBoolean();
+
+        /** Only used by the background thread */
+        private final FleetSampler sampler;
+        private final SplittableRandom random = new SplittableRandom();
+
+        Pool(List<Ship.ShipType> fleet) {
+            this.fleet = fleet.toArray(new Ship.ShipType[0]);
+            this.sampler = new FleetSampler(this.fleet);
+        }
+
+        /**
+         * Submits a refill task unless one is already pending.
+         */
+        void scheduleRefill() {
+            if (!refiller.isShutdown() && layouts.remainingCapacity() > 0 && refilling.compareAndSet(false, true))
+                refiller.execute(this::refill);
+        }
+
+        private void refill() {
+            try {
+                while (layouts.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+                    int[] layout = new int[fleet.length];
+                    if (!sampler.sample(random, layout))
+                        return;
+                    if (!layouts.offer(layout))
+                        return;
+                    refills.incrementAndGet();
+                }
+            } finally {
+                refilling.set(false);
+            }
+            // a layout may have been taken after the last check, while the refill flag was still set
+            scheduleRefill();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The best shots for the opening of a game, precomputed for each fleet configuration by
+ * <code>OpeningBookBuilder</code> in the test sources and read from a memory-mapped file, so a shooter spends no time
+ * on the first shots of a game.
+ * <p>
+ * The book maps revealed states (see {@link Zobrist#revealed}) to the square to shoot at next. States are keyed by
+ * their canonical hash (see {@link Symmetry}), and the square is stored in the orientation of the representative,
+ * so one entry serves all rotations and reflections of a state. The hash covers the ships afloat, so the entries
+ * of all fleets share one table.
+ * <p>
+ * File format, big-endian: the magic number, the format version and the number of entries as <code>int</code>s,
+ * then the entries sorted by key, each a <code>long</code> key followed by the square index as a <code>byte</code>.
+ * Lookups are a binary search in the mapped file. A book is immutable and can be shared between threads.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class OpeningBook {
+
+    /** Where the book is looked for by {@link #getDefault()} */
+    public static final String DEFAULT_PATH = "src/main/java/res/openings.bin";
+
+    static final int MAGIC = 0x4F50454E;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 3 * Integer.BYTES;
+    static final int ENTRY_BYTES = Long.BYTES + 1;
+
+    /** The default book, loaded on first use */
+    private static class DefaultHolder {
+        static final OpeningBook BOOK = loadDefault();
+    }
+
+    private final ByteBuffer buffer;
+    private final int size;
+
+    private OpeningBook(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+            throw new IOException("not an opening book");
+        if (buffer.getInt(Integer.BYTES) != VERSION)
+            throw new IOException("unsupported opening book version " + buffer.getInt(Integer.BYTES));
+        size = buffer.getInt(2 * Integer.BYTES);
+        if (size < 0 || buffer.capacity() != HEADER_BYTES + (long) size * ENTRY_BYTES)
+            throw new IOException("truncated opening book");
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps a book file into memory.
+     *
+     * @param path the file
+     *
+     * @return the book
+     *
+     * @throws IOException if the file can't be read or isn't an opening book
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Getter
+     *
+     * @return the book at {@link #DEFAULT_PATH}, or null if there's none
+     */
+    public static OpeningBook getDefault() {
+        return DefaultHolder.BOOK;
+    }
+
+    private static OpeningBook loadDefault() {
+        try {
+            return open(Paths.get(DEFAULT_PATH));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of states in the book
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Looks up the next shot for what has been revealed on a board.
+     *
+     * @param board a board
+     *
+     * @return the square index <code>row * Board.COLUMNS + col</code> to shoot at, or -1 if the state isn't in the
+     * book
+     */
+    public int lookup(IBoard board) {
+        Revealed revealed = Revealed.of(board);
+        long[] hashes = new long[Symmetry.COUNT];
+        int transform = revealed.canonicalTransform(hashes);
+        int square = lookup(hashes[transform]);
+        return square < 0 ? -1 : Symmetry.square(Symmetry.inverse(transform), square);
+    }
+
+    /**
+     * @param key the canonical hash of a revealed state
+     *
+     * @return the square to shoot at in the orientation of the representative, or -1 if the state isn't in the
+     * book
+     */
+    int lookup(long key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = buffer.getLong(HEADER_BYTES + mid * ENTRY_BYTES);
+            if (midKey < key)
+                low = mid + 1;
+            else if (midKey > key)
+                high = mid - 1;
+            else
+                return buffer.get(HEADER_BYTES + mid * ENTRY_BYTES + Long.BYTES);
+        }
+        return -1;
+    }
+}
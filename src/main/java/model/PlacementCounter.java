@@ -0,0 +1,542 @@
+package model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * Counts the fleet layouts which are consistent with a partially played board, and how often each square is
+ * occupied across them.
+ * <p>
+ * The state of a board is what a player can observe: the squares shot at, which of them were hits, and the ships
+ * which have been sunk. A layout of the remaining fleet is consistent with the state if no ship covers a miss or
+ * touches a sunk ship, every hit which doesn't belong to a sunk ship is covered by exactly the ship it belongs to,
+ * and no remaining ship is hit on every square (it would have been sunk). Layouts are counted as sets of squares,
+ * so ships of the same type are interchangeable and a ship pointing left is the same as one pointing right.
+ * <p>
+ * The exact count is a depth first search over the remaining ships, memoized on the squares occupied so far. If
+ * the number of memoized states exceeds a budget, the query falls back to a Monte Carlo estimate (sequential
+ * importance sampling: ships are placed one at a time at a random legal placement, and each sample is weighted by
+ * the number of choices it had). Each query reports whether it's exact, whether it was answered from the cache and
+ * how long it took.
+ * <p>
+ * Results can be cached in a {@link TranspositionCache}, keyed by a Zobrist hash of the revealed state (hits,
+ * misses, sunk ships and remaining fleet), so positions reached again, by any board, aren't counted twice. By
+ * default the key is canonical (see {@link Symmetry}): the rotations and reflections of a state share one entry,
+ * stored in the orientation of the representative and mapped back to the orientation of each query.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class PlacementCounter {
+
+    public static final int DEFAULT_STATE_BUDGET = 200000;
+    public static final int DEFAULT_SAMPLES = 20000;
+
+    private final int stateBudget;
+    private final int samples;
+    private final SplittableRandom random;
+
+    /** Results by revealed state, or null */
+    private TranspositionCache<Result> cache;
+
+    /** True if the cache is keyed by canonical states */
+    private boolean canonical;
+
+    public PlacementCounter() {
+        this(DEFAULT_STATE_BUDGET, DEFAULT_SAMPLES, new SplittableRandom());
+    }
+
+    /**
+     * @param stateBudget maximum number of memoized states before falling back to Monte Carlo estimation
+     * @param samples     number of samples for a Monte Carlo estimate
+     * @param random      source of randomness for the Monte Carlo estimate
+     */
+    public PlacementCounter(int stateBudget, int samples, SplittableRandom random) {
+        this.stateBudget = stateBudget;
+        this.samples = samples;
+        this.random = random;
+    }
+
+    /**
+     * Setter
+     *
+     * @param cache a cache for the results of queries, may be shared between counters, or null for no caching
+     */
+    public void setCache(TranspositionCache<Result> cache) {
+        setCache(cache, true);
+    }
+
+    /**
+     * Setter
+     *
+     * @param cache     a cache for the results of queries, may be shared between counters, or null for no caching
+     * @param canonical true to share one entry between the symmetric images of a state, false to key entries by
+     *                  the state as it is; counters sharing a cache must agree
+     */
+    public void setCache(TranspositionCache<Result> cache, boolean canonical) {
+        this.cache = cache;
+        this.canonical = canonical;
+    }
+
+    /**
+     * The result of a query.
+     */
+    public static class Result {
+
+        private final boolean exact;
+        private final double layouts;
+        private final double[] occupancy;
+        private final long elapsedNanos;
+        private final boolean cached;
+
+        Result(boolean exact, double layouts, double[] occupancy, long elapsedNanos) {
+            this(exact, layouts, occupancy, elapsedNanos, false);
+        }
+
+        private Result(boolean exact, double layouts, double[] occupancy, long elapsedNanos, boolean cached) {
+            this.exact = exact;
+            this.layouts = layouts;
+            this.occupancy = occupancy;
+            this.elapsedNanos = elapsedNanos;
+            this.cached = cached;
+        }
+
+        /**
+         * @return true if the result was counted exactly, false if it's a Monte Carlo estimate
+         */
+        public boolean isExact() {
+            return exact;
+        }
+
+        /**
+         * @return the number of consistent layouts of the remaining fleet
+         */
+        public double getLayouts() {
+            return layouts;
+        }
+
+        /**
+         * @param row a row index
+         * @param col a column index
+         *
+         * @return the fraction of the consistent layouts which occupy the square, 1 for hit squares
+         */
+        public double getProbability(int row, int col) {
+            return occupancy[BitBoard.index(row, col)];
+        }
+
+        /**
+         * @return the time the query took in nanoseconds, for a cached answer the time of the lookup
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return true if the query was answered from the cache
+         */
+        public boolean isCached() {
+            return cached;
+        }
+
+        /**
+         * @param t a transform, see {@link Symmetry}
+         *
+         * @return the result for the image of the state under the transform
+         */
+        Result transform(int t) {
+            if (t == Symmetry.IDENTITY)
+                return this;
+            return new Result(exact, layouts, image(t), elapsedNanos, cached);
+        }
+
+        /**
+         * @param t            the transform from the cached state to the state of the query
+         * @param elapsedNanos the time of the lookup
+         *
+         * @return the answer to a query from this cached result
+         */
+        Result answer(int t, long elapsedNanos) {
+            return new Result(exact, layouts, t == Symmetry.IDENTITY ? occupancy : image(t), elapsedNanos, true);
+        }
+
+        private double[] image(int t) {
+            double[] image = new double[BitBoard.CELLS];
+            for (int i = 0; i < BitBoard.CELLS; i++)
+                image[Symmetry.square(t, i)] = occupancy[i];
+            return image;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %.6g layouts in %.3f ms%s", exact ? "exactly" : "about", layouts,
+                    elapsedNanos / 1e6, cached ? " (cached)" : "");
+        }
+    }
+
+    /**
+     * Counts the layouts consistent with what has been revealed on a board.
+     *
+     * @param board a board
+     *
+     * @return the result of the query
+     */
+    public Result count(Board board) {
+        Revealed revealed = Revealed.of(board);
+        return count(revealed.remaining, revealed.hits, revealed.misses, revealed.sunkPlacements);
+    }
+
+    /**
+     * Counts the layouts consistent with a board state. Squares are given by their index
+     * <code>row * Board.COLUMNS + col</code>.
+     *
+     * @param remaining      the ship types which haven't been sunk
+     * @param hits           squares which were hit and don't belong to a sunk ship
+     * @param misses         squares which were shot at without hitting a ship
+     * @param sunkPlacements the placements (see {@link Placements}) of the sunk ships
+     *
+     * @return the result of the query
+     */
+    public Result count(Ship.ShipType[] remaining, int[] hits, int[] misses, int[] sunkPlacements) {
+        long start = System.nanoTime();
+        long key = 0;
+        int transform = Symmetry.IDENTITY;
+        if (cache != null) {
+            if (canonical) {
+                long[] hashes = new long[Symmetry.COUNT];
+                transform = Symmetry.canonicalRevealed(remaining, hits, misses, sunkPlacements, hashes);
+                key = hashes[transform];
+            } else {
+                key = Zobrist.revealed(remaining, hits, misses, sunkPlacements);
+            }
+            Result cached = cache.get(key);
+            if (cached != null)
+                return cached.answer(Symmetry.inverse(transform), System.nanoTime() - start);
+        }
+
+        Query query = new Query(remaining, hits, misses, sunkPlacements);
+        Result result = count(query, sunkPlacements, start);
+        if (cache != null)
+            cache.put(key, result.transform(transform));
+        return result;
+    }
+
+    /**
+     * Counts the layouts consistent with a board state, taking the candidate placements from an index kept up to
+     * date with the shots instead of filtering the placement table. Squares are given by their index
+     * <code>row * Board.COLUMNS + col</code>. The results aren't cached, since the misses aren't known.
+     *
+     * @param remaining      the ship types which haven't been sunk
+     * @param hits           squares which were hit and don't belong to a sunk ship
+     * @param sunkPlacements the placements (see {@link Placements}) of the sunk ships
+     * @param index          an index which has observed all shots
+     *
+     * @return the result of the query
+     */
+    public Result count(Ship.ShipType[] remaining, int[] hits, int[] sunkPlacements, PlacementIndex index) {
+        long start = System.nanoTime();
+        Query query = new Query(remaining, hits, index);
+        return count(query, sunkPlacements, start);
+    }
+
+    private Result count(Query query, int[] sunkPlacements, long start) {
+        double[] occupancy = new double[BitBoard.CELLS];
+        boolean exact;
+        double layouts;
+        try {
+            layouts = query.countExactly(occupancy);
+            exact = true;
+        } catch (BudgetExceededException e) {
+            Arrays.fill(occupancy, 0.0);
+            layouts = query.estimate(occupancy);
+            exact = false;
+        }
+
+        for (int p : sunkPlacements)
+            for (int i = 0; i < BitBoard.CELLS; i++)
+                if ((Placements.footprint(p, i >>> 6) & (1L << i)) != 0)
+                    occupancy[i] = 1.0;
+
+        return new Result(exact, layouts, occupancy, System.nanoTime() - start);
+    }
+
+    /**
+     * Thrown by the exact count when the state budget is used up.
+     */
+    private static class BudgetExceededException extends RuntimeException {
+        BudgetExceededException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * A memoized state of the search: the next ship to place, the first allowed candidate (for ships of the same
+     * type as the previous one) and the squares occupied so far.
+     */
+    private static class State {
+        private final int depth, first;
+        private final long occupied0, occupied1;
+
+        State(int depth, int first, long occupied0, long occupied1) {
+            this.depth = depth;
+            this.first = first;
+            this.occupied0 = occupied0;
+            this.occupied1 = occupied1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof State))
+                return false;
+            State s = (State) o;
+            return depth == s.depth && first == s.first && occupied0 == s.occupied0 && occupied1 == s.occupied1;
+        }
+
+        @Override
+        public int hashCode() {
+            long h = occupied0 * 0x9E3779B97F4A7C15L ^ occupied1 * 0xC2B2AE3D27D4EB4FL;
+            return (int) (h ^ (h >>> 32)) * 31 + depth * 1021 + first;
+        }
+    }
+
+    /**
+     * The data of a single query.
+     */
+    private class Query {
+
+        /** Remaining ship types, longest first so identical types are adjacent */
+        private final Ship.ShipType[] fleet;
+
+        /** The allowed placements of each remaining ship */
+        private final int[][] candidates;
+
+        private final long[] hits = new long[BitBoard.WORDS];
+
+        private final Map<State, Long> memo = new HashMap<>();
+
+        Query(Ship.ShipType[] remaining, int[] hitSquares, int[] missSquares, int[] sunkPlacements) {
+            this(remaining, hitSquares);
+
+            long[] misses = new long[BitBoard.WORDS];
+            long[] sunk = new long[BitBoard.WORDS];
+            for (int i : missSquares)
+                BitBoard.set(misses, i);
+            for (int p : sunkPlacements)
+                for (int w = 0; w < BitBoard.WORDS; w++)
+                    sunk[w] |= Placements.footprint(p, w);
+
+            selectCandidates(p -> isAllowed(p, misses, sunk));
+        }
+
+        Query(Ship.ShipType[] remaining, int[] hitSquares, PlacementIndex index) {
+            this(remaining, hitSquares);
+            // the index has already ruled out misses, sunk ships, squares next to hits and fully hit placements
+            selectCandidates(p -> isCanonical(p) && index.isAlive(p));
+        }
+
+        private Query(Ship.ShipType[] remaining, int[] hitSquares) {
+            if (BitBoard.WORDS != 2)
+                throw new IllegalStateException("the counter expects boards of 65 to 128 squares");
+
+            fleet = remaining.clone();
+            Arrays.sort(fleet, (a, b) -> b.getLength() != a.getLength() ?
+                    b.getLength() - a.getLength() : a.ordinal() - b.ordinal());
+
+            for (int i : hitSquares)
+                BitBoard.set(hits, i);
+            candidates = new int[fleet.length][];
+        }
+
+        private void selectCandidates(IntPredicate allowed) {
+            for (int k = 0; k < fleet.length; k++) {
+                if (k > 0 && fleet[k] == fleet[k - 1]) {
+                    candidates[k] = candidates[k - 1];
+                    continue;
+                }
+                int[] valid = Placements.valid(fleet[k]);
+                int[] selected = new int[valid.length];
+                int n = 0;
+                for (int p : valid)
+                    if (allowed.test(p))
+                        selected[n++] = p;
+                candidates[k] = Arrays.copyOf(selected, n);
+            }
+        }
+
+        /**
+         * @return true if a remaining ship may be placed at p, regardless of the other remaining ships
+         */
+        private boolean isAllowed(int p, long[] misses, long[] sunk) {
+            if (!isCanonical(p))
+                return false;
+            boolean fullyHit = true;
+            for (int w = 0; w < BitBoard.WORDS; w++) {
+                long footprint = Placements.footprint(p, w);
+                long zone = Placements.zone(p, w);
+                if ((footprint & misses[w]) != 0 || (zone & sunk[w]) != 0 || (zone & ~footprint & hits[w]) != 0)
+                    return false;
+                if ((footprint & ~hits[w]) != 0)
+                    fullyHit = false;
+            }
+            return !fullyHit;
+        }
+
+        /**
+         * @return true if p is the one of the two placements covering the same squares which is counted
+         */
+        private boolean isCanonical(int p) {
+            Direction direction = Placements.direction(p);
+            return direction == Direction.RIGHT || direction == Direction.DOWN;
+        }
+
+        private int firstCandidate(int depth, int previous) {
+            return depth > 0 && fleet[depth] == fleet[depth - 1] ? previous + 1 : 0;
+        }
+
+        private boolean fits(int p, long occupied0, long occupied1) {
+            return (Placements.zone(p, 0) & occupied0) == 0 && (Placements.zone(p, 1) & occupied1) == 0;
+        }
+
+        /**
+         * Counts exactly and fills in the occupancy of each square.
+         *
+         * @return the number of layouts
+         */
+        double countExactly(double[] occupancy) {
+            long total = count(0, 0, 0L, 0L);
+            if (total == 0)
+                return 0;
+
+            // forward pass: the number of ways to reach each state, depth by depth
+            long[] squares = new long[BitBoard.CELLS];
+            Map<State, Long> level = new HashMap<>();
+            level.put(new State(0, 0, 0L, 0L), 1L);
+            for (int depth = 0; depth < fleet.length; depth++) {
+                Map<State, Long> next = new HashMap<>();
+                for (Map.Entry<State, Long> entry : level.entrySet()) {
+                    State s = entry.getKey();
+                    long ways = entry.getValue();
+                    int[] cands = candidates[depth];
+                    for (int j = s.first; j < cands.length; j++) {
+                        int p = cands[j];
+                        if (!fits(p, s.occupied0, s.occupied1))
+                            continue;
+                        long o0 = s.occupied0 | Placements.footprint(p, 0);
+                        long o1 = s.occupied1 | Placements.footprint(p, 1);
+                        int first = depth + 1 < fleet.length && fleet[depth + 1] == fleet[depth] ? j + 1 : 0;
+                        long completions = count(depth + 1, first, o0, o1);
+                        if (completions == 0)
+                            continue;
+                        long paths = ways * completions;
+                        for (int w = 0; w < BitBoard.WORDS; w++)
+                            for (long f = Placements.footprint(p, w); f != 0; f &= f - 1)
+                                squares[(w << 6) + Long.numberOfTrailingZeros(f)] += paths;
+                        if (depth + 1 < fleet.length)
+                            next.merge(new State(depth + 1, first, o0, o1), ways, Long::sum);
+                    }
+                }
+                level = next;
+            }
+
+            for (int i = 0; i < BitBoard.CELLS; i++)
+                occupancy[i] = (double) squares[i] / total;
+            return total;
+        }
+
+        /**
+         * @return the number of ways to place the ships from <code>depth</code> on
+         */
+        private long count(int depth, int first, long occupied0, long occupied1) {
+            if (depth == fleet.length)
+                return (hits[0] & ~occupied0) == 0 && (hits[1] & ~occupied1) == 0 ? 1 : 0;
+
+            int[] cands = candidates[depth];
+            if (depth == fleet.length - 1) {
+                // the last ship isn't memoized, it only has to fit and cover the remaining hits
+                long uncovered0 = hits[0] & ~occupied0;
+                long uncovered1 = hits[1] & ~occupied1;
+                long total = 0;
+                for (int j = first; j < cands.length; j++) {
+                    int p = cands[j];
+                    if (fits(p, occupied0, occupied1)
+                            && (uncovered0 & ~Placements.footprint(p, 0)) == 0
+                            && (uncovered1 & ~Placements.footprint(p, 1)) == 0)
+                        total++;
+                }
+                return total;
+            }
+
+            State state = new State(depth, first, occupied0, occupied1);
+            Long known = memo.get(state);
+            if (known != null)
+                return known;
+            if (memo.size() >= stateBudget)
+                throw new BudgetExceededException();
+
+            long total = 0;
+            for (int j = first; j < cands.length; j++) {
+                int p = cands[j];
+                if (!fits(p, occupied0, occupied1))
+                    continue;
+                int next = depth + 1 < fleet.length && fleet[depth + 1] == fleet[depth] ? j + 1 : 0;
+                total += count(depth + 1, next,
+                        occupied0 | Placements.footprint(p, 0), occupied1 | Placements.footprint(p, 1));
+            }
+            memo.put(state, total);
+            return total;
+        }
+
+        /**
+         * Estimates the count by sequential importance sampling and fills in the occupancy of each square.
+         *
+         * @return the estimated number of layouts
+         */
+        double estimate(double[] occupancy) {
+            int maxCandidates = 0;
+            for (int[] cands : candidates)
+                maxCandidates = Math.max(maxCandidates, cands.length);
+            int[] legal = new int[maxCandidates];
+            int[] legalIndex = new int[maxCandidates];
+
+            double weights = 0;
+            for (int s = 0; s < samples; s++) {
+                long o0 = 0, o1 = 0;
+                double weight = 1;
+                int previous = -1;
+                for (int depth = 0; depth < fleet.length && weight > 0; depth++) {
+                    int[] cands = candidates[depth];
+                    int n = 0;
+                    for (int j = firstCandidate(depth, previous); j < cands.length; j++)
+                        if (fits(cands[j], o0, o1)) {
+                            legal[n] = cands[j];
+                            legalIndex[n++] = j;
+                        }
+                    if (n == 0) {
+                        weight = 0;
+                        break;
+                    }
+                    int pick = random.nextInt(n);
+                    previous = legalIndex[pick];
+                    o0 |= Placements.footprint(legal[pick], 0);
+                    o1 |= Placements.footprint(legal[pick], 1);
+                    weight *= n;
+                }
+                if (weight == 0 || (hits[0] & ~o0) != 0 || (hits[1] & ~o1) != 0)
+                    continue;
+                weights += weight;
+                for (long f = o0; f != 0; f &= f - 1)
+                    occupancy[Long.numberOfTrailingZeros(f)] += weight;
+                for (long f = o1; f != 0; f &= f - 1)
+                    occupancy[64 + Long.numberOfTrailingZeros(f)] += weight;
+            }
+
+            if (weights > 0)
+                for (int i = 0; i < BitBoard.CELLS; i++)
+                    occupancy[i] /= weights;
+            return weights / samples;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * An index of the placements (see {@link Placements}) which are still consistent with the shots at a board, kept
+ * as a bitset over the whole placement table and updated incrementally as shots are observed.
+ * <p>
+ * A miss removes every placement covering the square, a hit removes the placements it touches without being
+ * covered by them (no other ship may be next to the hit ship) and a sunk ship removes every placement covering or
+ * touching it. The index also counts the unsunk hits covered by each placement and removes a placement once all its
+ * squares are hit while the ship isn't sunk. Each update is a pass over the bitset with masks precomputed per
+ * square, and queries read the bitset directly, so the board is never rescanned.
+ * <p>
+ * A {@link Listener} is told about every removed placement and every newly covered hit, so users can keep derived
+ * data, like a density map, up to date without scanning the index.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see PlacementCounter
+ */
+public class PlacementIndex {
+
+    /**
+     * Receives the changes to the index.
+     */
+    public interface Listener {
+
+        /**
+         * Invoked when a placement is removed from the index.
+         *
+         * @param p the placement index, <code>getHitsCovered(p)</code> still holds its count when it was removed
+         */
+        void placementRemoved(int p);
+
+        /**
+         * Invoked when a live placement covers one more unsunk hit.
+         *
+         * @param p the placement index
+         */
+        void hitCovered(int p);
+    }
+
+    /** Number of longs in the bitset */
+    private static final int WORDS = (Placements.COUNT + 63) >>> 6;
+
+    /** For each square, the valid placements covering it */
+    private static final long[][] COVERING = new long[BitBoard.CELLS][WORDS];
+
+    /** For each square, the valid placements with the square in their zone but not covering it */
+    private static final long[][] TOUCHING = new long[BitBoard.CELLS][WORDS];
+
+    static {
+        for (Ship.ShipType type : Ship.ShipType.values())
+            for (int p : Placements.valid(type))
+                for (int i = 0; i < BitBoard.CELLS; i++) {
+                    long bit = 1L << i;
+                    if ((Placements.footprint(p, i >>> 6) & bit) != 0)
+                        COVERING[i][p >>> 6] |= 1L << p;
+                    else if ((Placements.zone(p, i >>> 6) & bit) != 0)
+                        TOUCHING[i][p >>> 6] |= 1L << p;
+                }
+    }
+
+    private final long[] alive = new long[WORDS];
+    private final byte[] hitsCovered = new byte[Placements.COUNT];
+
+    /** Squares whose shot has been observed */
+    private final long[] observed = new long[BitBoard.WORDS];
+
+    private final long[] mask = new long[WORDS];
+
+    private Listener listener;
+
+    /**
+     * Creates an index of all valid placements of all ship types.
+     */
+    public PlacementIndex() {
+        reset(Ship.ShipType.values());
+    }
+
+    /**
+     * Starts over with all valid placements of the ship types in a fleet.
+     *
+     * @param fleet the ship types of the fleet, duplicates allowed
+     */
+    public void reset(Ship.ShipType[] fleet) {
+        Arrays.fill(alive, 0L);
+        Arrays.fill(hitsCovered, (byte) 0);
+        Arrays.fill(observed, 0L);
+        for (Ship.ShipType type : fleet)
+            for (int p : Placements.valid(type))
+                alive[p >>> 6] |= 1L << p;
+    }
+
+    /**
+     * Setter
+     *
+     * @param listener receiver of the changes to the index, or null
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Takes the outcome of a shot at a board into account: a miss, a hit, and whether the hit sank a ship. A square
+     * is only observed once; call once the shot has been applied to the board.
+     *
+     * @param board the board which was shot at
+     * @param row   the row index of the square shot at
+     * @param col   the column index of the square shot at
+     */
+    public void observe(IBoard board, int row, int col) {
+        int index = BitBoard.index(row, col);
+        if (BitBoard.test(observed, index))
+            return;
+        BitBoard.set(observed, index);
+
+        if (!board.isOccupied(row, col)) {
+            miss(row, col);
+            return;
+        }
+        hit(row, col);
+        Ship ship = board.getShipAt(row, col);
+        if (ship != null && ship.isSunk())
+            sunk(Placements.index(ship.getShipType(), ship.getDirection(), ship.getRow(), ship.getCol()));
+    }
+
+    /**
+     * Removes the placements covering a square without a ship.
+     *
+     * @param row a row index
+     * @param col a column index
+     */
+    public void miss(int row, int col) {
+        remove(COVERING[BitBoard.index(row, col)]);
+    }
+
+    /**
+     * Removes the placements touching a hit square and counts the hit for the placements covering it.
+     *
+     * @param row a row index
+     * @param col a column index
+     */
+    public void hit(int row, int col) {
+        int index = BitBoard.index(row, col);
+        remove(TOUCHING[index]);
+
+        long[] covering = COVERING[index];
+        for (int w = 0; w < WORDS; w++)
+            for (long bits = alive[w] & covering[w]; bits != 0; bits &= bits - 1) {
+                int p = (w << 6) + Long.numberOfTrailingZeros(bits);
+                hitsCovered[p]++;
+                if (listener != null)
+                    listener.hitCovered(p);
+                // all squares hit but the ship isn't known to be sunk
+                if (hitsCovered[p] == Placements.type(p).getLength())
+                    removeOne(p);
+            }
+    }
+
+    /**
+     * Removes the placements covering or touching a sunk ship.
+     *
+     * @param p the placement of the sunk ship
+     */
+    public void sunk(int p) {
+        Arrays.fill(mask, 0L);
+        for (int w = 0; w < BitBoard.WORDS; w++)
+            for (long zone = Placements.zone(p, w); zone != 0; zone &= zone - 1) {
+                long[] covering = COVERING[(w << 6) + Long.numberOfTrailingZeros(zone)];
+                for (int v = 0; v < WORDS; v++)
+                    mask[v] |= covering[v];
+            }
+        remove(mask);
+    }
+
+    /**
+     * @param p a placement index
+     *
+     * @return true if the placement is still consistent with the observed shots
+     */
+    public boolean isAlive(int p) {
+        return (alive[p >>> 6] & (1L << p)) != 0;
+    }
+
+    /**
+     * @param p a placement index
+     *
+     * @return the number of unsunk hits covered by the placement, or when it was removed
+     */
+    public int getHitsCovered(int p) {
+        return hitsCovered[p];
+    }
+
+    /**
+     * @param type a ship type
+     *
+     * @return the number of live placements of the type
+     */
+    public int count(Ship.ShipType type) {
+        int[] valid = Placements.valid(type);
+        if (valid.length == 0)
+            return 0;
+        int from = valid[0];
+        int to = valid[valid.length - 1] + 1;
+        int count = 0;
+        for (int w = from >>> 6; w <= (to - 1) >>> 6; w++) {
+            long bits = alive[w];
+            if (w == from >>> 6)
+                bits &= -1L << from;
+            if (w == (to - 1) >>> 6 && (to & 63) != 0)
+                bits &= -1L >>> (64 - (to & 63));
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the next live placement, in the same way as <code>BitSet.nextSetBit</code>.
+     *
+     * @param from the placement index to start from, inclusive
+     *
+     * @return the first live placement at or after <code>from</code>, or -1 if there is none
+     */
+    public int nextAlive(int from) {
+        if (from >= Placements.COUNT)
+            return -1;
+        int w = from >>> 6;
+        long bits = alive[w] & (-1L << from);
+        while (bits == 0) {
+            if (++w == WORDS)
+                return -1;
+            bits = alive[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Performs an action for each live placement covering a square.
+     *
+     * @param row    a row index
+     * @param col    a column index
+     * @param action the action, receiving placement indices
+     */
+    public void forEachCovering(int row, int col, IntConsumer action) {
+        long[] covering = COVERING[BitBoard.index(row, col)];
+        for (int w = 0; w < WORDS; w++)
+            for (long bits = alive[w] & covering[w]; bits != 0; bits &= bits - 1)
+                action.accept((w << 6) + Long.numberOfTrailingZeros(bits));
+    }
+
+    /**
+     * Removes the live placements in a mask, notifying the listener.
+     */
+    private void remove(long[] removed) {
+        for (int w = 0; w < WORDS; w++) {
+            long bits = alive[w] & removed[w];
+            if (bits == 0)
+                continue;
+            alive[w] &= ~bits;
+            if (listener != null)
+                for (; bits != 0; bits &= bits - 1)
+                    listener.placementRemoved((w << 6) + Long.numberOfTrailingZeros(bits));
+        }
+    }
+
+    private void removeOne(int p) {
+        alive[p >>> 6] &= ~(1L << p);
+        if (listener != null)
+            listener.placementRemoved(p);
+    }
+}
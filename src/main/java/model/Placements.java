@@ -0,0 +1,233 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A precomputed table of every placement of a ship on the board, one entry for each combination of
+ * (ship type, direction, row, col).
+ * Each entry holds the footprint of the ship and its zone, i.e. the footprint plus the squares behind, in front of
+ * and beside the ship which no other ship may occupy. Placements which would stick out of the board are marked as
+ * not valid.
+ * <p>
+ * Placements are referred to by their index in the table, see {@link #index(Ship.ShipType, Direction, int, int)}.
+ * The index is less than {@link #COUNT} and fits in a <code>short</code>, which is how layouts are encoded by
+ * {@link FleetSampler} and {@link BulkLayoutGenerator}.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see Board
+ */
+public final class Placements {
+
+    private static final Ship.ShipType[] TYPES = Ship.ShipType.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** Number of entries in the table */
+    public static final int COUNT = TYPES.length * DIRECTIONS.length * BitBoard.CELLS;
+
+    private static final long[] FOOTPRINT = new long[COUNT * BitBoard.WORDS];
+    private static final long[] ZONE = new long[COUNT * BitBoard.WORDS];
+    private static final boolean[] VALID = new boolean[COUNT];
+
+    /** The valid placements of each ship type, indexed by the type's ordinal */
+    private static final int[][] VALID_BY_TYPE = new int[TYPES.length][];
+
+    static {
+        long[] footprint = new long[BitBoard.WORDS];
+        long[] zone = new long[BitBoard.WORDS];
+        for (Ship.ShipType type : TYPES)
+            for (Direction direction : DIRECTIONS)
+                for (int r = 0; r < Board.ROWS; r++)
+                    for (int c = 0; c < Board.COLUMNS; c++) {
+                        int p = index(type, direction, r, c);
+                        VALID[p] = compute(type.getLength(), direction, r, c, footprint, zone);
+                        System.arraycopy(footprint, 0, FOOTPRINT, p * BitBoard.WORDS, BitBoard.WORDS);
+                        System.arraycopy(zone, 0, ZONE, p * BitBoard.WORDS, BitBoard.WORDS);
+                    }
+
+        for (Ship.ShipType type : TYPES) {
+            int first = index(type, DIRECTIONS[0], 0, 0);
+            int count = DIRECTIONS.length * BitBoard.CELLS;
+            int n = 0;
+            int[] valid = new int[count];
+            for (int p = first; p < first + count; p++)
+                if (VALID[p])
+                    valid[n++] = p;
+            VALID_BY_TYPE[type.ordinal()] = Arrays.copyOf(valid, n);
+        }
+    }
+
+    private Placements() {
+    }
+
+    /**
+     * Computes the footprint and zone of a ship with its 'head' at (r, c).
+     *
+     * @param length    the ship's length
+     * @param direction the ship's direction
+     * @param r         row
+     * @param c         column
+     * @param footprint plane receiving the footprint
+     * @param zone      plane receiving the footprint and the surrounding squares
+     *
+     * @return true if the whole ship is on the board
+     */
+    private static boolean compute(int length, Direction direction, int r, int c, long[] footprint, long[] zone) {
+        int dr = direction.getRowStep();
+        int dc = direction.getColStep();
+
+        Arrays.fill(footprint, 0L);
+        Arrays.fill(zone, 0L);
+
+        if (!isOnBoard(r, c) || !isOnBoard(r + (length - 1) * dr, c + (length - 1) * dc))
+            return false;
+
+        // behind and forward of the ship
+        setIfOnBoard(zone, r - dr, c - dc);
+        setIfOnBoard(zone, r + length * dr, c + length * dc);
+
+        // the ship and its sides
+        for (int i = 0; i < length; i++) {
+            int sr = r + i * dr;
+            int sc = c + i * dc;
+            BitBoard.set(footprint, BitBoard.index(sr, sc));
+            BitBoard.set(zone, BitBoard.index(sr, sc));
+            setIfOnBoard(zone, sr - dc, sc - dr);
+            setIfOnBoard(zone, sr + dc, sc + dr);
+        }
+        return true;
+    }
+
+    private static boolean isOnBoard(int r, int c) {
+        return r >= 0 && r < Board.ROWS && c >= 0 && c < Board.COLUMNS;
+    }
+
+    private static void setIfOnBoard(long[] plane, int r, int c) {
+        if (isOnBoard(r, c))
+            BitBoard.set(plane, BitBoard.index(r, c));
+    }
+
+    /**
+     * @param type      ship type
+     * @param direction direction
+     * @param row       row index of the ship's 'head'
+     * @param col       column index of the ship's 'head'
+     *
+     * @return the index of the placement in the table
+     */
+    public static int index(Ship.ShipType type, Direction direction, int row, int col) {
+        return ((type.ordinal() * DIRECTIONS.length + direction.ordinal()) * Board.ROWS + row) * Board.COLUMNS + col;
+    }
+
+    /**
+     * @param p a placement index
+     *
+     * @return true if the placement lies entirely on the board
+     */
+    public static boolean isValid(int p) {
+        return VALID[p];
+    }
+
+    /**
+     * Gets all valid placements of a ship type. The returned array is shared and must not be modified.
+     *
+     * @param type ship type
+     *
+     * @return the placement indices of the type which lie entirely on the board
+     */
+    static int[] valid(Ship.ShipType type) {
+        return VALID_BY_TYPE[type.ordinal()];
+    }
+
+    /**
+     * Gets all valid placements of a ship type.
+     *
+     * @param type ship type
+     *
+     * @return a new array of the placement indices of the type which lie entirely on the board
+     */
+    public static int[] getValid(Ship.ShipType type) {
+        return valid(type).clone();
+    }
+
+    /**
+     * @param p   a placement index
+     * @param row a row index
+     * @param col a column index
+     *
+     * @return true if the ship of the placement covers the square
+     */
+    public static boolean covers(int p, int row, int col) {
+        int index = BitBoard.index(row, col);
+        return (footprint(p, index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * @param p   a placement index
+     * @param row a row index
+     * @param col a column index
+     *
+     * @return true if the square is in the placement's zone, i.e. it's covered by the ship or no other ship may
+     * occupy it
+     */
+    public static boolean isInZone(int p, int row, int col) {
+        int index = BitBoard.index(row, col);
+        return (zone(p, index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * @param p a placement index
+     * @param w a word index in the plane
+     *
+     * @return word <code>w</code> of the placement's footprint
+     */
+    static long footprint(int p, int w) {
+        return FOOTPRINT[p * BitBoard.WORDS + w];
+    }
+
+    /**
+     * @param p a placement index
+     * @param w a word index in the plane
+     *
+     * @return word <code>w</code> of the placement's zone (footprint and surrounding squares)
+     */
+    static long zone(int p, int w) {
+        return ZONE[p * BitBoard.WORDS + w];
+    }
+
+    /**
+     * @param p a placement index
+     *
+     * @return the ship type of the placement
+     */
+    public static Ship.ShipType type(int p) {
+        return TYPES[p / (DIRECTIONS.length * BitBoard.CELLS)];
+    }
+
+    /**
+     * @param p a placement index
+     *
+     * @return the direction of the placement
+     */
+    public static Direction direction(int p) {
+        return DIRECTIONS[(p / BitBoard.CELLS) % DIRECTIONS.length];
+    }
+
+    /**
+     * @param p a placement index
+     *
+     * @return the row index of the ship's 'head'
+     */
+    public static int row(int p) {
+        return (p % BitBoard.CELLS) / Board.COLUMNS;
+    }
+
+    /**
+     * @param p a placement index
+     *
+     * @return the column index of the ship's 'head'
+     */
+    public static int col(int p) {
+        return p % Board.COLUMNS;
+    }
+}
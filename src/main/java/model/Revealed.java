@@ -0,0 +1,75 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * What a player knows about a board: the ship types which haven't been sunk, the hits which don't belong to a sunk
+ * ship, the misses and the placements of the sunk ships. Squares are given by their index
+ * <code>row * Board.COLUMNS + col</code>.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see Zobrist#revealed(Ship.ShipType[], int[], int[], int[])
+ */
+final class Revealed {
+
+    final Ship.ShipType[] remaining;
+    final int[] hits;
+    final int[] misses;
+    final int[] sunkPlacements;
+
+    Revealed(Ship.ShipType[] remaining, int[] hits, int[] misses, int[] sunkPlacements) {
+        this.remaining = remaining;
+        this.hits = hits;
+        this.misses = misses;
+        this.sunkPlacements = sunkPlacements;
+    }
+
+    /**
+     * @param board a board
+     *
+     * @return what has been revealed on the board
+     */
+    static Revealed of(IBoard board) {
+        List<Ship> ships = board.getShips();
+        Ship.ShipType[] remaining = new Ship.ShipType[ships.size()];
+        int[] sunkPlacements = new int[ships.size()];
+        int numRemaining = 0, numSunk = 0;
+        for (Ship ship : ships) {
+            if (ship.isSunk())
+                sunkPlacements[numSunk++] =
+                        Placements.index(ship.getShipType(), ship.getDirection(), ship.getRow(), ship.getCol());
+            else
+                remaining[numRemaining++] = ship.getShipType();
+        }
+
+        int[] hits = new int[BitBoard.CELLS];
+        int[] misses = new int[BitBoard.CELLS];
+        int numHits = 0, numMisses = 0;
+        for (int r = 0; r < Board.ROWS; r++)
+            for (int c = 0; c < Board.COLUMNS; c++)
+                if (board.isHit(r, c)) {
+                    Ship ship = board.getShipAt(r, c);
+                    if (ship == null)
+                        misses[numMisses++] = BitBoard.index(r, c);
+                    else if (!ship.isSunk())
+                        hits[numHits++] = BitBoard.index(r, c);
+                }
+
+        return new Revealed(Arrays.copyOf(remaining, numRemaining), Arrays.copyOf(hits, numHits),
+                Arrays.copyOf(misses, numMisses), Arrays.copyOf(sunkPlacements, numSunk));
+    }
+
+    /**
+     * Finds the transform mapping the state to the representative of its class, see
+     * {@link Symmetry#canonicalRevealed}.
+     *
+     * @param hashes receives the hash of the image under each transform, length at least {@link Symmetry#COUNT}
+     *
+     * @return the canonical transform
+     */
+    int canonicalTransform(long[] hashes) {
+        return Symmetry.canonicalRevealed(remaining, hits, misses, sunkPlacements, hashes);
+    }
+}
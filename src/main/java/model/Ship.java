@@ -1,15 +1,19 @@
 package model;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 /**
  * A model of the ship.
+ * <p>
+ * Hits are counted atomically, so several threads may shoot at the same ship and exactly one of them sinks it.
  *
  * @author Tor Gammelgard
  * @version 2015-10-17
  */
 public class Ship {
 
-    /** An ID counter used with the creation of new ships. */
-    private static int id_counter = 0;
+    /** Id of a ship which hasn't been put on a board */
+    public static final int NO_ID = -1;
 
     /**
      * An enum for the different ship types.
@@ -43,18 +47,27 @@ public class Ship {
     /** placement direction of the ship */
     private Direction direction;
 
-    /** a hit counter */
-    private int hits;
+    /** a hit counter, the ship is sunk when it reaches the length */
+    private volatile int hits;
 
-    /** a bool for keeping track of the ship's status */
-    private boolean isSunk;
+    private static final AtomicIntegerFieldUpdater<Ship> HITS =
+            AtomicIntegerFieldUpdater.newUpdater(Ship.class, "hits");
 
-    /** A unique ID */
-    private int id;
+    /** The ship's index in the fleet of its board, assigned by the board */
+    private int id = NO_ID;
 
     /** Private constructor */
     private Ship() {
-        id = id_counter++;
+    }
+
+    /** Copy constructor, keeps the id of the original */
+    private Ship(Ship original) {
+        shipType = original.shipType;
+        row = original.row;
+        col = original.col;
+        direction = original.direction;
+        hits = original.hits;
+        id = original.id;
     }
 
     /** Static initialization block */
@@ -66,20 +79,31 @@ public class Ship {
         return s;
     }
 
+    /**
+     * Creates a ship from state kept elsewhere, e.g. in a {@link GameStore} slab.
+     *
+     * @param p    the ship's placement index, see {@link Placements}
+     * @param hits the number of hits to the ship
+     * @param id   the ship's index in the fleet
+     *
+     * @return a new ship with the given state
+     */
+    static Ship view(int p, int hits, int id) {
+        Ship s = createShip(Placements.type(p));
+        s.setDirection(Placements.direction(p));
+        s.setLocation(Placements.row(p), Placements.col(p));
+        s.hits = hits;
+        s.id = id;
+        return s;
+    }
+
     /**
      * Copy getter
      *
      * @return a copy of this ship
      */
     public Ship getCopy() {
-        Ship s = createShip(this.getShipType());
-        s.row = this.row;
-        s.col = this.col;
-        s.direction = this.direction;
-        s.hits = this.hits;
-        s.isSunk = this.isSunk;
-        s.id = this.id;
-        return s;
+        return new Ship(this);
     }
 
     /**
@@ -94,12 +118,22 @@ public class Ship {
     /**
      * Getter
      *
-     * @return the ship's id
+     * @return the ship's id on its board, from 0 to the fleet size - 1, or <code>NO_ID</code> if the ship
+     * hasn't been put on a board
      */
     public int getId() {
         return id;
     }
 
+    /**
+     * Setter, used by the board when the ship is added to its fleet
+     *
+     * @param id the ship's index in the fleet
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Setter
      *
@@ -113,11 +147,11 @@ public class Ship {
 
     /**
      * Adds a hit and checks if the ship sank.
+     *
+     * @return true if this hit sank the ship
      */
-    public void addHit() {
-        hits++;
-        if (hits == getLength())
-            isSunk = true;
+    public boolean addHit() {
+        return HITS.incrementAndGet(this) == getLength();
     }
 
     /**
@@ -135,7 +169,7 @@ public class Ship {
      * @return true if the ship is sunk
      */
     public boolean isSunk() {
-        return isSunk;
+        return hits >= getLength();
     }
 
     /**
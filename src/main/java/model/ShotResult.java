@@ -0,0 +1,29 @@
+package model;
+
+/**
+ * An enumeration for the outcome of a shot at a board.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see Board#shoot(int, int)
+ * @see engine.GameSession#shoot(int, int)
+ */
+public enum ShotResult {
+    /** The square is outside the board, or no game is running */
+    INVALID,
+    /** The square had already been shot at */
+    REPEAT,
+    MISS,
+    HIT,
+    /** The shot hit a ship and sank it */
+    SUNK,
+    /** The shot sank the last ship */
+    VICTORY;
+
+    /**
+     * @return true if the shot hit a ship
+     */
+    public boolean isHit() {
+        return this == HIT || this == SUNK || this == VICTORY;
+    }
+}
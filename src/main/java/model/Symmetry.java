@@ -0,0 +1,160 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The symmetries of the board: the rotations and reflections which map the board onto itself, 8 of them on a
+ * square board and 4 (the identity and the three flips) otherwise. The fleets are sets of ship types, so a
+ * transformed layout is a layout of the same fleet, and a transformed state has the transformed statistics: the
+ * number of consistent layouts is the same and the occupancy of each square moves with the square.
+ * <p>
+ * Canonicalization picks one representative of each equivalence class of revealed states, so caches and tables
+ * keyed by states store each class once instead of up to 8 times. Transforms are numbered 0 to {@link #COUNT} - 1,
+ * where bit 2 transposes the board (swaps rows and columns), then bit 0 flips the rows and bit 1 flips the columns.
+ * Transform 0 is the identity.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see Zobrist
+ */
+public final class Symmetry {
+
+    /** Number of symmetries of the board */
+    public static final int COUNT = Board.ROWS == Board.COLUMNS ? 8 : 4;
+
+    /** The transform mapping every square onto itself */
+    public static final int IDENTITY = 0;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** For each transform, the image of each square index */
+    private static final int[][] SQUARE = new int[COUNT][BitBoard.CELLS];
+
+    /** For each transform, the image of each direction, indexed by ordinal */
+    private static final Direction[][] DIRECTION = new Direction[COUNT][DIRECTIONS.length];
+
+    /** For each transform, the image of each placement index, -1 for placements which aren't valid */
+    private static final int[][] PLACEMENT = new int[COUNT][Placements.COUNT];
+
+    private static final int[] INVERSE = new int[COUNT];
+
+    static {
+        for (int t = 0; t < COUNT; t++) {
+            for (int r = 0; r < Board.ROWS; r++)
+                for (int c = 0; c < Board.COLUMNS; c++)
+                    SQUARE[t][BitBoard.index(r, c)] = BitBoard.index(row(t, r, c), col(t, r, c));
+
+            for (Direction direction : DIRECTIONS) {
+                int dr = direction.getRowStep();
+                int dc = direction.getColStep();
+                if ((t & 4) != 0) {
+                    int swap = dr;
+                    dr = dc;
+                    dc = swap;
+                }
+                if ((t & 1) != 0)
+                    dr = -dr;
+                if ((t & 2) != 0)
+                    dc = -dc;
+                for (Direction image : DIRECTIONS)
+                    if (image.getRowStep() == dr && image.getColStep() == dc)
+                        DIRECTION[t][direction.ordinal()] = image;
+            }
+
+            Arrays.fill(PLACEMENT[t], -1);
+            for (int p = 0; p < Placements.COUNT; p++) {
+                if (!Placements.isValid(p))
+                    continue;
+                int r = Placements.row(p);
+                int c = Placements.col(p);
+                PLACEMENT[t][p] = Placements.index(Placements.type(p),
+                        DIRECTION[t][Placements.direction(p).ordinal()], row(t, r, c), col(t, r, c));
+            }
+        }
+
+        for (int t = 0; t < COUNT; t++)
+            for (int u = 0; u < COUNT; u++) {
+                int i = 0;
+                while (i < BitBoard.CELLS && SQUARE[u][SQUARE[t][i]] == i)
+                    i++;
+                if (i == BitBoard.CELLS)
+                    INVERSE[t] = u;
+            }
+    }
+
+    private Symmetry() {
+    }
+
+    private static int row(int t, int r, int c) {
+        int row = (t & 4) != 0 ? c : r;
+        return (t & 1) != 0 ? Board.ROWS - 1 - row : row;
+    }
+
+    private static int col(int t, int r, int c) {
+        int col = (t & 4) != 0 ? r : c;
+        return (t & 2) != 0 ? Board.COLUMNS - 1 - col : col;
+    }
+
+    /**
+     * @param t     a transform
+     * @param index a square index, <code>row * Board.COLUMNS + col</code>
+     *
+     * @return the index of the square's image
+     */
+    public static int square(int t, int index) {
+        return SQUARE[t][index];
+    }
+
+    /**
+     * @param t         a transform
+     * @param direction a direction
+     *
+     * @return the direction of a ship's image when the ship points in <code>direction</code>
+     */
+    public static Direction direction(int t, Direction direction) {
+        return DIRECTION[t][direction.ordinal()];
+    }
+
+    /**
+     * @param t a transform
+     * @param p a valid placement index
+     *
+     * @return the index of the placement's image, covering the images of its squares
+     */
+    public static int placement(int t, int p) {
+        return PLACEMENT[t][p];
+    }
+
+    /**
+     * @param t a transform
+     *
+     * @return the transform undoing it
+     */
+    public static int inverse(int t) {
+        return INVERSE[t];
+    }
+
+    /**
+     * Finds the transform mapping a revealed state (see {@link Zobrist#revealed}) to the representative of its
+     * class, the image with the smallest hash.
+     *
+     * @param remaining      the ship types which haven't been sunk
+     * @param hits           squares which were hit and don't belong to a sunk ship
+     * @param misses         squares which were shot at without hitting a ship
+     * @param sunkPlacements the placements of the sunk ships
+     * @param hashes         receives the hash of the image under each transform, length at least {@link #COUNT}
+     *
+     * @return the canonical transform; if the state is symmetric several transforms give the same image, and the
+     * first of them is returned
+     */
+    static int canonicalRevealed(Ship.ShipType[] remaining, int[] hits, int[] misses, int[] sunkPlacements,
+                                 long[] hashes) {
+        int best = IDENTITY;
+        for (int t = 0; t < COUNT; t++) {
+            hashes[t] = Zobrist.revealed(remaining, hits, misses, sunkPlacements, t);
+            if (Long.compareUnsigned(hashes[t], hashes[best]) < 0)
+                best = t;
+        }
+        return best;
+    }
+}
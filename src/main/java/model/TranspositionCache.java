@@ -0,0 +1,203 @@
+package model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of values computed for board states, keyed by a 64-bit hash such as {@link Board#getHash()}.
+ * <p>
+ * When the cache is full, an entry is evicted according to its {@link EvictionPolicy}. Lookups, hits, misses and
+ * evictions are counted, so the hit rate can be monitored. All methods are synchronized, so a cache can be shared
+ * between threads.
+ *
+ * @param <V> the type of the cached values
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see PlacementCounter#setCache(TranspositionCache)
+ */
+public class TranspositionCache<V> {
+
+    /**
+     * The rule for picking the entry to evict from a full cache.
+     */
+    public enum EvictionPolicy {
+        /** Evict the least recently used entry */
+        LRU,
+        /** Evict the oldest entry, lookups don't refresh entries */
+        FIFO,
+        /**
+         * Direct-mapped, the classic transposition table: every key has a single slot, picked from its bits, and
+         * a new entry replaces whatever is in its slot. No allocation per entry, but colliding keys evict each other
+         * even when the cache isn't full.
+         */
+        REPLACE
+    }
+
+    private final int capacity;
+    private final EvictionPolicy policy;
+
+    /** The entries, for LRU and FIFO */
+    private final LinkedHashMap<Long, V> map;
+
+    /** The slots, for REPLACE */
+    private final long[] keys;
+    private final Object[] values;
+
+    private int size;
+    private long hits, misses, evictions;
+
+    /**
+     * @param capacity the largest number of entries, rounded up to a power of two for <code>REPLACE</code>
+     * @param policy   the eviction policy
+     */
+    public TranspositionCache(int capacity, EvictionPolicy policy) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.policy = policy;
+        if (policy == EvictionPolicy.REPLACE) {
+            int slots = 1;
+            while (slots < capacity)
+                slots <<= 1;
+            this.capacity = slots;
+            keys = new long[this.capacity];
+            values = new Object[this.capacity];
+            map = null;
+        } else {
+            this.capacity = capacity;
+            keys = null;
+            values = null;
+            map = new LinkedHashMap<Long, V>(16, 0.75f, policy == EvictionPolicy.LRU) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                    if (size() <= TranspositionCache.this.capacity)
+                        return false;
+                    evictions++;
+                    return true;
+                }
+            };
+        }
+    }
+
+    /**
+     * Looks up a value.
+     *
+     * @param key a state hash
+     *
+     * @return the cached value, or null if there's none
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V get(long key) {
+        V value;
+        if (map != null) {
+            value = map.get(key);
+        } else {
+            int slot = slotOf(key);
+            value = keys[slot] == key ? (V) values[slot] : null;
+        }
+        if (value != null)
+            hits++;
+        else
+            misses++;
+        return value;
+    }
+
+    /**
+     * Adds or replaces a value, evicting an entry if needed.
+     *
+     * @param key   a state hash
+     * @param value the value, not null
+     */
+    public synchronized void put(long key, V value) {
+        if (value == null)
+            throw new NullPointerException("null value");
+        if (map != null) {
+            map.put(key, value);
+            return;
+        }
+        int slot = slotOf(key);
+        if (values[slot] == null)
+            size++;
+        else if (keys[slot] != key)
+            evictions++;
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    /**
+     * Removes all entries. The statistics are kept.
+     */
+    public synchronized void clear() {
+        if (map != null) {
+            map.clear();
+        } else {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * @return the eviction policy
+     */
+    public EvictionPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return the largest number of entries
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public synchronized int getSize() {
+        return map != null ? map.size() : size;
+    }
+
+    /**
+     * @return the number of lookups which found a value
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of lookups which found nothing
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the number of entries evicted to make room for others
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the fraction of lookups which found a value, 0 if there haven't been any
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s cache, %d/%d entries, %d hits, %d misses (hit rate %.1f %%), %d evictions",
+                policy, getSize(), capacity, hits, misses, 100 * getHitRate(), evictions);
+    }
+
+    /**
+     * Picks the slot of a key from its bits, mixed since the low bits of some hashes are more alike than others.
+     */
+    private int slotOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (capacity - 1);
+    }
+}
@@ -0,0 +1,122 @@
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for hashing board states: a random 64-bit key for each feature of a state (a square being occupied,
+ * hit, missed or part of a sunk ship, the k-th ship of a type being afloat), and the hash of a state is the XOR of
+ * the keys of its features. Adding or removing a feature is a single XOR, so hashes are updated incrementally.
+ * The keys come from a fixed seed, so hashes are the same in every run.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see Board#getHash()
+ */
+final class Zobrist {
+
+    /** Number of ships of one type which get their own key, larger counts wrap around */
+    private static final int MAX_PER_TYPE = 64;
+
+    private static final long[] OCCUPIED = new long[BitBoard.CELLS];
+    private static final long[] HIT = new long[BitBoard.CELLS];
+    private static final long[] MISS = new long[BitBoard.CELLS];
+    private static final long[] SUNK = new long[BitBoard.CELLS];
+    private static final long[] AFLOAT = new long[Ship.ShipType.values().length * MAX_PER_TYPE];
+
+    /** The XOR of the occupied keys of the squares covered by each placement */
+    private static final long[] PLACEMENT = new long[Placements.COUNT];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x2B7E151628AED2A6L);
+        for (int i = 0; i < BitBoard.CELLS; i++) {
+            OCCUPIED[i] = random.nextLong();
+            HIT[i] = random.nextLong();
+            MISS[i] = random.nextLong();
+            SUNK[i] = random.nextLong();
+        }
+        for (int i = 0; i < AFLOAT.length; i++)
+            AFLOAT[i] = random.nextLong();
+        for (int p = 0; p < Placements.COUNT; p++)
+            PLACEMENT[p] = footprintKey(p, OCCUPIED);
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param p a placement index
+     *
+     * @return the key of the squares covered by the placement being occupied
+     */
+    static long occupied(int p) {
+        return PLACEMENT[p];
+    }
+
+    /**
+     * @param index a square index
+     *
+     * @return the key of the square having been shot at
+     */
+    static long hit(int index) {
+        return HIT[index];
+    }
+
+    /**
+     * @param type a ship type
+     * @param k    the number of other ships of the type afloat
+     *
+     * @return the key of the k-th ship of the type being afloat
+     */
+    static long afloat(Ship.ShipType type, int k) {
+        return AFLOAT[type.ordinal() * MAX_PER_TYPE + k % MAX_PER_TYPE];
+    }
+
+    /**
+     * Hashes what a player knows about a board: the squares hit and missed, the squares of the sunk ships and the
+     * types of the ships afloat. Sunk ships are hashed by the squares they cover, so the two directions covering
+     * the same squares give the same hash.
+     *
+     * @param remaining      the ship types which haven't been sunk
+     * @param hits           squares which were hit and don't belong to a sunk ship
+     * @param misses         squares which were shot at without hitting a ship
+     * @param sunkPlacements the placements of the sunk ships
+     *
+     * @return the hash
+     */
+    static long revealed(Ship.ShipType[] remaining, int[] hits, int[] misses, int[] sunkPlacements) {
+        return revealed(remaining, hits, misses, sunkPlacements, Symmetry.IDENTITY);
+    }
+
+    /**
+     * Hashes the image of a revealed state under a symmetry of the board, without transforming the state.
+     *
+     * @param remaining      the ship types which haven't been sunk
+     * @param hits           squares which were hit and don't belong to a sunk ship
+     * @param misses         squares which were shot at without hitting a ship
+     * @param sunkPlacements the placements of the sunk ships
+     * @param t              a transform, see {@link Symmetry}
+     *
+     * @return the hash of the transformed state
+     */
+    static long revealed(Ship.ShipType[] remaining, int[] hits, int[] misses, int[] sunkPlacements, int t) {
+        long hash = 0;
+        int[] perType = new int[Ship.ShipType.values().length];
+        for (Ship.ShipType type : remaining)
+            hash ^= afloat(type, perType[type.ordinal()]++);
+        for (int i : hits)
+            hash ^= HIT[Symmetry.square(t, i)];
+        for (int i : misses)
+            hash ^= MISS[Symmetry.square(t, i)];
+        for (int p : sunkPlacements)
+            hash ^= footprintKey(Symmetry.placement(t, p), SUNK);
+        return hash;
+    }
+
+    private static long footprintKey(int p, long[] keys) {
+        long key = 0;
+        for (int w = 0; w < BitBoard.WORDS; w++)
+            for (long footprint = Placements.footprint(p, w); footprint != 0; footprint &= footprint - 1)
+                key ^= keys[(w << 6) + Long.numberOfTrailingZeros(footprint)];
+        return key;
+    }
+}
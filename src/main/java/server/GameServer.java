@@ -0,0 +1,234 @@
+package server;
+
+import engine.Fleets;
+import engine.GameSession;
+import helpers.GradeLevel;
+import model.Board;
+import model.LayoutPool;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts many games of Battleship at once over a line based protocol on the loopback interface.
+ * <p>
+ * A session is just a {@link GameSession} in a map: it holds no thread and no socket, so an idle session costs only
+ * the memory of its board. Any number of sessions are multiplexed over a connection, and every connection is served
+ * by its own thread. Shots are applied lock-free by the board, so requests for the same session need no lock either.
+ * Fleet layouts come from a shared {@link LayoutPool}.
+ * <p>
+ * A session belongs to the connection which created it: it's ended by <code>END</code>, or when the connection is
+ * closed, so clients which go away don't leave their games behind.
+ * <p>
+ * Requests and responses are single lines of ASCII:
+ * <pre>
+ * NEW G|VG               OK &lt;session&gt;
+ * SHOT &lt;session&gt; &lt;row&gt; &lt;col&gt;  MISS | HIT | SUNK | VICTORY | REPEAT | INVALID
+ * END &lt;session&gt;          OK
+ * STATS                  SESSIONS &lt;count&gt;
+ * </pre>
+ * A request which can't be served is answered with <code>ERR &lt;reason&gt;</code>.
+ * <p>
+ * Usage: <code>java server.GameServer [port]</code>. A load generator for it, <code>server.LoadGenerator</code>, is
+ * in the test sources.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class GameServer implements Closeable {
+
+    public static final int DEFAULT_PORT = 4711;
+
+    /** Number of ready-made layouts kept for each fleet */
+    private static final int LAYOUT_POOL_CAPACITY = 1024;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextSessionId = new AtomicLong(1);
+    private final LayoutPool layoutPool = new LayoutPool(LAYOUT_POOL_CAPACITY);
+
+    /**
+     * Binds the server to a port on the loopback interface. Connections aren't accepted until {@link #start()}.
+     *
+     * @param port a port number, or 0 for any free port
+     *
+     * @throws IOException if the port can't be bound
+     */
+    public GameServer(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        connections = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "game-server-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (GradeLevel gradeLevel : GradeLevel.values())
+            layoutPool.prepare(Fleets.types(gradeLevel));
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GameServer server = new GameServer(port);
+        System.out.println("Game server listening on " + server.serverSocket.getLocalSocketAddress());
+        server.serve();
+    }
+
+    /**
+     * Starts accepting connections on a background thread.
+     */
+    public void start() {
+        Thread acceptor = new Thread(this::serve, "game-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Getter
+     *
+     * @return the port the server is bound to
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return the number of open sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Stops accepting connections and closes the server socket. Open connections are closed by their clients.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+        layoutPool.shutdown();
+    }
+
+    private void serve() {
+        try {
+            while (!serverSocket.isClosed()) {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.execute(() -> handleConnection(socket));
+            }
+        } catch (SocketException e) {
+            // the server socket was closed
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads requests from a connection and writes a response to each, until the client closes the connection. Then
+     * ends the sessions created on the connection.
+     */
+    private void handleConnection(Socket socket) {
+        Set<Long> owned = new HashSet<>();
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(
+                     new OutputStreamWriter(s.getOutputStream(), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                out.write(handle(line, owned));
+                out.write('\n');
+                // only flush once all pipelined requests are answered
+                if (!in.ready())
+                    out.flush();
+            }
+        } catch (IOException e) {
+            // the client went away
+        } finally {
+            for (long id : owned)
+                sessions.remove(id);
+        }
+    }
+
+    /**
+     * Serves one request.
+     *
+     * @param request a request line
+     * @param owned   the ids of the sessions created on the connection, updated by <code>NEW</code> and
+     *                <code>END</code>. Sessions of other connections can't be shot at or ended.
+     *
+     * @return the response line, without line terminator
+     */
+    String handle(String request, Set<Long> owned) {
+        String[] parts = request.trim().split(" +");
+        try {
+            switch (parts[0]) {
+                case "NEW":
+                    return parts.length == 2 ? newSession(parts[1], owned) : "ERR usage: NEW G|VG";
+                case "SHOT":
+                    return parts.length == 4
+                            ? shoot(Long.parseLong(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                            owned)
+                            : "ERR usage: SHOT <session> <row> <col>";
+                case "END":
+                    return parts.length == 2 ? endSession(Long.parseLong(parts[1]), owned)
+                            : "ERR usage: END <session>";
+                case "STATS":
+                    return "SESSIONS " + sessions.size();
+                default:
+                    return "ERR unknown request " + parts[0];
+            }
+        } catch (NumberFormatException e) {
+            return "ERR bad number " + e.getMessage();
+        }
+    }
+
+    private String newSession(String grade, Set<Long> owned) {
+        GradeLevel gradeLevel;
+        if (grade.equals("G"))
+            gradeLevel = GradeLevel.GODKAND;
+        else if (grade.equals("VG"))
+            gradeLevel = GradeLevel.VAL_GODKAND;
+        else
+            return "ERR unknown grade " + grade;
+
+        Board board = new Board();
+        board.setLayoutPool(layoutPool);
+        GameSession session = new GameSession(board);
+        if (!session.start(gradeLevel))
+            return "ERR the fleet can't be placed";
+        long id = nextSessionId.getAndIncrement();
+        sessions.put(id, session);
+        owned.add(id);
+        return "OK " + id;
+    }
+
+    private String shoot(long id, int row, int col, Set<Long> owned) {
+        GameSession session = owned.contains(id) ? sessions.get(id) : null;
+        if (session == null)
+            return "ERR no session " + id;
+        return session.shoot(row, col).name();
+    }
+
+    private String endSession(long id, Set<Long> owned) {
+        if (!owned.remove(id))
+            return "ERR no session " + id;
+        sessions.remove(id);
+        return "OK";
+    }
+}
@@ -0,0 +1,180 @@
+package view;
+
+import controller.BoardListener;
+import controller.Controller;
+import helpers.ShowLevel;
+import model.Board;
+import model.IBoard;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * A single component painting the whole game board, an alternative to the grid of labels of {@link BoardPanel}.
+ * <p>
+ * The squares are rendered from their {@link SquareIcon} layers into an off-screen surface the size of the board,
+ * only when they change, and painting copies the surface. A change to the board repaints only the rectangles of the
+ * changed squares. The surface is a <code>BufferedImage</code>, or optionally a <code>VolatileImage</code> which
+ * can live in video memory; it's re-rendered if its contents are lost.
+ * <p>
+ * Mouse events are passed on to the controller, which maps their coordinates to squares with
+ * {@link #rowAt(int)} and {@link #colAt(int)}.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see MainFrame#BOARD_VIEW_PROPERTY
+ */
+public class BoardCanvas extends JComponent implements BoardListener {
+
+    private final Random random = new Random();
+    private final IBoard board;
+    private final Controller controller;
+    private final boolean accelerated;
+
+    private final int rows, columns;
+    private final SquareIcon[] icons;
+
+    /** Squares which have to be rendered into the surface again */
+    private final BitSet dirty = new BitSet();
+
+    private Image surface;
+
+    /**
+     * @param board       the board to show
+     * @param controller  receiver of the mouse events
+     * @param accelerated true to keep the surface in a <code>VolatileImage</code>
+     */
+    public BoardCanvas(IBoard board, Controller controller, boolean accelerated) {
+        this.board = board;
+        this.controller = controller;
+        this.accelerated = accelerated;
+
+        rows = Board.ROWS;
+        columns = Board.COLUMNS;
+        icons = new SquareIcon[rows * columns];
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < columns; j++)
+                icons[i * columns + j] = new SquareIcon(i, j, random.nextInt(TextureCache.VARIANTS));
+        dirty.set(0, icons.length);
+
+        setOpaque(true);
+        setBackground(MainFrame.BACKGROUND_COLOR);
+        addMouseListener(controller);
+        addMouseMotionListener(controller);
+        board.addListener(this);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        Insets insets = getInsets();
+        return new Dimension(columns * BoardPanel.SQUARE_WIDTH + insets.left + insets.right,
+                rows * BoardPanel.SQUARE_WIDTH + insets.top + insets.bottom);
+    }
+
+    /**
+     * @param y a y coordinate in this component
+     *
+     * @return the row index of the square at the coordinate, or -1 if it's outside the board
+     */
+    public int rowAt(int y) {
+        int offset = y - getInsets().top;
+        return offset < 0 || offset >= rows * BoardPanel.SQUARE_WIDTH ? -1 : offset / BoardPanel.SQUARE_WIDTH;
+    }
+
+    /**
+     * @param x an x coordinate in this component
+     *
+     * @return the column index of the square at the coordinate, or -1 if it's outside the board
+     */
+    public int colAt(int x) {
+        int offset = x - getInsets().left;
+        return offset < 0 || offset >= columns * BoardPanel.SQUARE_WIDTH ? -1 : offset / BoardPanel.SQUARE_WIDTH;
+    }
+
+    @Override
+    public void boardChanged() {
+        for (int i = 0; i < icons.length; i++)
+            update(i);
+    }
+
+    @Override
+    public void squareChanged(int row, int col) {
+        update(row * columns + col);
+    }
+
+    @Override
+    public void squaresChanged(BitSet squares) {
+        for (int i = squares.nextSetBit(0); i >= 0; i = squares.nextSetBit(i + 1))
+            update(i);
+    }
+
+    /**
+     * Updates the layers of a square and repaints it if they changed.
+     */
+    private void update(int index) {
+        int row = index / columns;
+        int col = index % columns;
+        boolean occupied = board.isOccupied(row, col);
+        boolean hit = board.isHit(row, col);
+        boolean show = controller.getShowLevel().equals(ShowLevel.SHOW);
+
+        // a ship is shown if it's hit, or always when showing the board
+        if (icons[index].setLayers(occupied && (hit || show), hit)) {
+            dirty.set(index);
+            Insets insets = getInsets();
+            repaint(insets.left + col * BoardPanel.SQUARE_WIDTH, insets.top + row * BoardPanel.SQUARE_WIDTH,
+                    BoardPanel.SQUARE_WIDTH, BoardPanel.SQUARE_WIDTH);
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Insets insets = getInsets();
+        do {
+            validateSurface();
+            renderDirtySquares();
+            g.drawImage(surface, insets.left, insets.top, null);
+        } while (surface instanceof VolatileImage && ((VolatileImage) surface).contentsLost());
+    }
+
+    /**
+     * Creates the surface if there's none, or recreates it if its contents were lost.
+     */
+    private void validateSurface() {
+        int width = columns * BoardPanel.SQUARE_WIDTH;
+        int height = rows * BoardPanel.SQUARE_WIDTH;
+        if (surface instanceof VolatileImage) {
+            int status = ((VolatileImage) surface).validate(getGraphicsConfiguration());
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE)
+                surface = null;
+            else if (status == VolatileImage.IMAGE_RESTORED)
+                dirty.set(0, icons.length);
+        }
+        if (surface == null) {
+            if (accelerated && getGraphicsConfiguration() != null)
+                surface = getGraphicsConfiguration().createCompatibleVolatileImage(width, height);
+            if (surface == null)
+                surface = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            dirty.set(0, icons.length);
+        }
+    }
+
+    private void renderDirtySquares() {
+        if (dirty.isEmpty())
+            return;
+        Graphics g = surface.getGraphics();
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            int x = (i % columns) * BoardPanel.SQUARE_WIDTH;
+            int y = (i / columns) * BoardPanel.SQUARE_WIDTH;
+            g.setColor(getBackground());
+            g.fillRect(x, y, BoardPanel.SQUARE_WIDTH, BoardPanel.SQUARE_WIDTH);
+            icons[i].paintIcon(this, g, x, y);
+        }
+        g.dispose();
+        dirty.clear();
+    }
+}
@@ -8,8 +8,8 @@ import model.IBoard;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Random;
 
@@ -19,6 +19,7 @@ import java.util.Random;
  * @author Tor Gammelgard
  * @version 2015-10-15
  * @see BoardListener
+ * @see BoardCanvas
  */
 public class BoardPanel extends JPanel implements BoardListener {
 
@@ -65,7 +66,13 @@ public class BoardPanel extends JPanel implements BoardListener {
 
     @Override
     public void squareChanged(int row, int col) {
-        squareLabelList.get(row * rows + col).update();
+        squareLabelList.get(row * columns + col).update();
+    }
+
+    @Override
+    public void squaresChanged(BitSet squares) {
+        for (int i = squares.nextSetBit(0); i >= 0; i = squares.nextSetBit(i + 1))
+            squareLabelList.get(i).update();
     }
 
     /**
@@ -73,22 +80,16 @@ public class BoardPanel extends JPanel implements BoardListener {
      */
     public class SquareLabel extends JLabel {
 
-        private BufferedImage waterBackground;
-        private BufferedImage shipBackground;
-        private BufferedImage waterMissBackground;
-        private BufferedImage shipHitBackground;
+        private SquareIcon icon;
 
         private int row, col;
 
         public SquareLabel(int row, int col) {
             this.row = row;
             this.col = col;
-            waterBackground = createWaterBackground();
-            shipBackground = createShipBackground();
-            waterMissBackground = createWaterMissBackground();
-            shipHitBackground = createShipHitBackground();
+            icon = new SquareIcon(row, col, random.nextInt(TextureCache.VARIANTS));
+            setIcon(icon);
             setPreferredSize(new Dimension(SQUARE_WIDTH, SQUARE_WIDTH));
-            reset();
         }
 
         /**
@@ -113,118 +114,21 @@ public class BoardPanel extends JPanel implements BoardListener {
          * Resets the background image.
          */
         public void reset() {
-            setIcon(new ImageIcon(waterBackground));
+            if (icon.setLayers(false, false))
+                repaint();
         }
 
         /**
          * Updates the current
          */
         public void update() {
-            Board.Square sq = board.getSquare(row, col);
-
-            if (controller.getShowLevel().equals(ShowLevel.SHOW)) {
-                if (sq.isOccupied() && sq.isHit()) {
-                    setIcon(new ImageIcon(shipHitBackground));
-                } else if (sq.isOccupied()) {
-                    setIcon(new ImageIcon(shipBackground));
-                } else if (sq.isHit()) {
-                    setIcon(new ImageIcon(waterMissBackground));
-                } else {
-                    setIcon(new ImageIcon(waterBackground));
-                }
-            } else {
-                if (sq.isOccupied() && sq.isHit()) {
-                    setIcon(new ImageIcon(shipHitBackground));
-                } else if (!sq.isOccupied() && sq.isHit()) {
-                    setIcon(new ImageIcon(waterMissBackground));
-                } else {
-                    setIcon(new ImageIcon(waterBackground));
-                }
-            }
-        }
-
+            boolean occupied = board.isOccupied(row, col);
+            boolean hit = board.isHit(row, col);
+            boolean show = controller.getShowLevel().equals(ShowLevel.SHOW);
 
-        /**
-         * Creates the background by cutting out a square in a bigger water picture.
-         *
-         * @return a background image with only water
-         */
-        private BufferedImage createWaterBackground() {
-            ImageIcon waterbgImgIcon;
-            waterbgImgIcon = new ImageIcon("src/main/java/res/waterbg.jpg", "waterbg");
-            waterBackground = new BufferedImage(SQUARE_WIDTH * rows, SQUARE_WIDTH * columns, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2 = waterBackground.createGraphics();
-            waterbgImgIcon.paintIcon(null, g2, 0, 0);
-            g2.dispose();
-
-            return waterBackground.getSubimage(SQUARE_WIDTH * col, SQUARE_WIDTH * row, SQUARE_WIDTH, SQUARE_WIDTH);
-        }
-
-        /**
-         * Creates an image by drawing a ship (filled circle) to the water background image
-         * @return a background image with a ship on it
-         */
-        private BufferedImage createShipBackground() {
-            BufferedImage buff = new BufferedImage(waterBackground.getWidth(), waterBackground.getHeight(), BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2 = buff.createGraphics();
-            g2.drawImage(waterBackground, 0, 0, null);
-            g2.setPaint(Color.BLACK);
-            g2.fillArc(buff.getWidth() / 5, buff.getHeight() / 5, buff.getWidth() * 3 / 5, buff.getHeight() * 3 / 5, 0, 360);
-            g2.dispose();
-            return buff;
-        }
-
-        /**
-         * Creates an image by drawing randomly placed boxes on the background picture, representing a miss.
-         *
-         * @return a background image with dark spots on it
-         */
-        private BufferedImage createWaterMissBackground() {
-            BufferedImage buff = new BufferedImage(waterBackground.getWidth(), waterBackground.getHeight(), BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2 = buff.createGraphics();
-            g2.drawImage(waterBackground, 0, 0, null);
-
-            Color color;
-            Random random = new Random();
-
-            color = new Color(100, 100, 100, 80);
-            g2.setPaint(color);
-            g2.fillRect(0, 0, buff.getWidth(), buff.getHeight());
-            for (int i = 0; i < 10; i++) {
-                int gr = random.nextInt(100);
-                color = new Color(gr, gr, 100, 125);
-                g2.setPaint(color);
-                g2.rotate(random.nextDouble(), buff.getWidth() / 2, buff.getHeight() / 2);
-                g2.fillArc(buff.getWidth() / 2, buff.getHeight() / 2, random.nextInt(35), random.nextInt(35), 0, 360);
-                g2.rotate(random.nextDouble(), buff.getWidth() / 2, buff.getHeight() / 2);
-                g2.fillRect(buff.getWidth() / 2, buff.getHeight() / 2, random.nextInt(35), random.nextInt(35));
-            }
-            g2.dispose();
-            return buff;
-        }
-
-        /**
-         * Creates a background image by adding red spots on the background image with the ship on it.
-         *
-         * @return a background image with ship and red spots on it
-         */
-        private BufferedImage createShipHitBackground() {
-            BufferedImage buff = new BufferedImage(waterBackground.getWidth(), waterBackground.getHeight(), BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2 = buff.createGraphics();
-            g2.drawImage(shipBackground, 0, 0, null);
-
-            Color color;
-            color = new Color(random.nextInt(101) + 155, 0, 0, 125);
-
-            g2.setPaint(color);
-            g2.fillRect(0, 0, buff.getWidth(), buff.getHeight());
-            for (int i = 0; i < 25; i++) {
-                g2.setPaint(new Color(255, random.nextInt(200), 0, 150));
-                g2.rotate(random.nextDouble(), buff.getWidth() / 2, buff.getHeight() / 2);
-                g2.fillArc(buff.getWidth() / 2, buff.getHeight() / 2, random.nextInt(35), random.nextInt(35), 0, 360);
-            }
-            g2.dispose();
-            return buff;
+            // a ship is shown if it's hit, or always when showing the board
+            if (icon.setLayers(occupied && (hit || show), hit))
+                repaint();
         }
     }
-}
\ No newline at end of file
+}
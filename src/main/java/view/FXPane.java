@@ -8,6 +8,14 @@ import java.awt.image.BufferedImage;
 /**
  * A component for displaying some overlay effects.
  * Used as the glassPane in MainFrame.
+ * <p>
+ * The radar cursor fades its previous frame into the next one. It renders into two buffers created once, drawing
+ * the previous frame from one into the other and then swapping them, and each animation step repaints only the
+ * cursor's bounding box. The explosions are particles of a single {@link ParticleEngine}, moved by one timer and
+ * drawn in the same pass, and each step repaints only the area covered by the particles. The rendering time of the
+ * cursor and of the particles, and the bytes allocated while rendering them, are counted by {@link FrameCounter}s,
+ * printed whenever the cursor is hidden or the last particle has died if the system property
+ * <code>battleship.fxstats</code> is true.
  *
  * @author Tor Gammelgard
  * @version 2015-11-02
@@ -15,6 +23,14 @@ import java.awt.image.BufferedImage;
  */
 public class FXPane extends JComponent {
 
+    private static final int XHAIR_RADIUS = 60;
+    private static final Color DISC_COLOR = new Color(50, 50, 50, 50);
+    private static final Color TRAIL_COLOR = new Color(25, 25, 25, 15);
+    private static final Color SWEEP_COLOR = new Color(120, 221, 17);
+    private static final Stroke RING_STROKE = new BasicStroke(1);
+    private static final Stroke TRAIL_STROKE = new BasicStroke(10);
+    private static final AlphaComposite FADE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.98f);
+
     // Private fields
 
     private String message;
@@ -31,7 +47,19 @@ public class FXPane extends JComponent {
     private double scaleInc = 0.01;
     private double theta = 0.0;
     private double ringScale = 0.0;
-    private BufferedImage backupBImg;
+
+    /** The ping-pong buffers of the radar cursor and their graphics, the previous frame is in <code>aimFront</code> */
+    private final BufferedImage[] aimBuffers = new BufferedImage[2];
+    private final Graphics2D[] aimGraphics = new Graphics2D[2];
+    private int aimFront;
+    private final AffineTransform aimDrift = AffineTransform.getRotateInstance(0.001, XHAIR_RADIUS, XHAIR_RADIUS);
+    private final AffineTransform identity = new AffineTransform();
+    private final FrameCounter aimFrames = new FrameCounter("radar cursor");
+
+    private final ParticleEngine particles = new ParticleEngine();
+    private Timer particleTimer;
+    private final Rectangle particleArea = new Rectangle();
+    private final FrameCounter particleFrames = new FrameCounter("particles");
 
     public FXPane(Component parent) {
         this.parent = parent;
@@ -76,10 +104,26 @@ public class FXPane extends JComponent {
             theta = theta + 0.04;
             if (theta > 2 * Math.PI)
                 theta = 0.0;
-            repaint();
+            repaintAim();
 
         });
 
+        particleTimer = new Timer(16, e -> {
+            particles.tick(particleArea);
+            if (!particleArea.isEmpty())
+                repaint(particleArea);
+            if (particles.getLive() == 0) {
+                particleTimer.stop();
+                if (Boolean.getBoolean("battleship.fxstats"))
+                    System.out.println(particleFrames + ", " + particles);
+            }
+        });
+
+        for (int i = 0; i < aimBuffers.length; i++) {
+            aimBuffers[i] = new BufferedImage(2 * XHAIR_RADIUS, 2 * XHAIR_RADIUS, BufferedImage.TYPE_INT_ARGB);
+            aimGraphics[i] = aimBuffers[i].createGraphics();
+        }
+
         outputLabel = new JLabel(message);
         add(outputLabel);
     }
@@ -119,8 +163,27 @@ public class FXPane extends JComponent {
      * @param mousePos current mouse position.
      */
     public void setMousePos(Point mousePos) {
+        repaintAim();
         this.mousePos = mousePos;
-        repaint();
+        repaintAim();
+    }
+
+    /**
+     * Getter
+     *
+     * @return the counter of the frames of the radar cursor
+     */
+    public FrameCounter getAimFrameCounter() {
+        return aimFrames;
+    }
+
+    /**
+     * Repaints the bounding box of the radar cursor.
+     */
+    private void repaintAim() {
+        if (mousePos != null)
+            repaint(mousePos.x - XHAIR_RADIUS - 1, mousePos.y - XHAIR_RADIUS - 1, 2 * XHAIR_RADIUS + 2,
+                    2 * XHAIR_RADIUS + 2);
     }
 
     /**
@@ -132,74 +195,95 @@ public class FXPane extends JComponent {
     public void setShowCrossHair(boolean showCrossHair) {
         if (showCrossHair != this.showCrossHair) {
             this.showCrossHair = showCrossHair;
-            repaint();
+            repaintAim();
             if (showCrossHair) {
                 if (!xHairTimer.isRunning()) {
                     xHairTimer.start();
                 }
             } else if (xHairTimer.isRunning()) {
                 xHairTimer.stop();
+                if (Boolean.getBoolean("battleship.fxstats"))
+                    System.out.println(aimFrames);
             }
         }
     }
 
     /**
-     * Adds an Explosion object around the mouse position.
+     * Starts an explosion of particles at the mouse position.
      *
      * @param hit true if a ship was hit
      */
     public void doHitAnimation(boolean hit) {
         if (mousePos != null) {
-            Explosion explosion;
-            explosion = new Explosion(this, mousePos.x - 100, mousePos.y - 100, 200, 200, hit);
-            add(explosion);
+            particles.explode(mousePos.x, mousePos.y, hit);
+            if (!particleTimer.isRunning())
+                particleTimer.start();
         }
     }
 
     /**
-     * Animates an aim cursor, resembling a radar, by rotation, AlphaComposite and saving to a backup buffered image.
+     * Getter
+     *
+     * @return the engine of the explosion particles
+     */
+    public ParticleEngine getParticleEngine() {
+        return particles;
+    }
+
+    /**
+     * Getter
+     *
+     * @return the counter of the frames of the explosion particles
+     */
+    public FrameCounter getParticleFrameCounter() {
+        return particleFrames;
+    }
+
+    /**
+     * Animates an aim cursor, resembling a radar, by rotation, AlphaComposite and fading the previous frame into the
+     * next one, ping-ponging between the two aim buffers.
      *
      * @param g2 graphics
      */
     private void updateBigAim(Graphics2D g2) {
         if (mousePos == null)
             return;
+        aimFrames.begin();
 
-        int xhairRadius = 60;
-
-        BufferedImage tempBuff = new BufferedImage(2 * xhairRadius, 2 * xhairRadius, BufferedImage.TYPE_INT_ARGB);
-
-        Graphics2D tempGraphics = tempBuff.createGraphics();
-        tempGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.98f));
+        int xhairRadius = XHAIR_RADIUS;
 
         // gray background disc with circles
-        g2.setPaint(new Color(50, 50, 50, 50));
+        g2.setPaint(DISC_COLOR);
         g2.fillArc(mousePos.x - xhairRadius, mousePos.y - xhairRadius, 2 * xhairRadius, 2 * xhairRadius, 0, 360);
         g2.setPaint(Color.DARK_GRAY);
-        g2.setStroke(new BasicStroke(1));
+        g2.setStroke(RING_STROKE);
         g2.drawArc((int) (mousePos.x - ringScale * xhairRadius / 2), (int) (mousePos.y - ringScale * xhairRadius / 2), (int) (ringScale * xhairRadius), (int) (ringScale * xhairRadius), 0, 360);
         g2.drawArc((int) (mousePos.x - ringScale * xhairRadius), (int) (mousePos.y - ringScale * xhairRadius), (int) (ringScale * 2 * xhairRadius), (int) (ringScale * 2 * xhairRadius), 0, 360);
 
-        AffineTransform at = new AffineTransform();
-        at.rotate(0.001, xhairRadius, xhairRadius);
-
-        tempGraphics.drawImage(backupBImg, at, null);
-
-        tempGraphics.setStroke(new BasicStroke(10));
-        tempGraphics.setColor(new Color(25, 25, 25, 15));
+        // the previous frame, faded and slightly rotated
+        BufferedImage back = aimBuffers[1 - aimFront];
+        Graphics2D tempGraphics = aimGraphics[1 - aimFront];
+        tempGraphics.setTransform(identity);
+        tempGraphics.setComposite(AlphaComposite.Clear);
+        tempGraphics.fillRect(0, 0, back.getWidth(), back.getHeight());
+        tempGraphics.setComposite(FADE);
+        tempGraphics.drawImage(aimBuffers[aimFront], aimDrift, null);
+
+        tempGraphics.setStroke(TRAIL_STROKE);
+        tempGraphics.setColor(TRAIL_COLOR);
         tempGraphics.rotate(-theta, xhairRadius, xhairRadius);
         tempGraphics.fillRect(xhairRadius - 5, (int) (scale * 50) + xhairRadius, 10, xhairRadius - 50);
 
         // green rotating thing
-        tempGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+        tempGraphics.setComposite(AlphaComposite.SrcOver);
         tempGraphics.rotate(-theta + .2, xhairRadius, xhairRadius);
-        tempGraphics.setPaint(new Color(120, 221, 17));
+        tempGraphics.setPaint(SWEEP_COLOR);
         tempGraphics.fillRect(xhairRadius - 5, xhairRadius, 10, xhairRadius);
 
-        g2.drawImage(tempBuff, mousePos.x - xhairRadius, mousePos.y - xhairRadius, null);
+        g2.drawImage(back, mousePos.x - xhairRadius, mousePos.y - xhairRadius, null);
 
-        backupBImg = tempBuff;
-        tempGraphics.dispose();
+        aimFront = 1 - aimFront;
+        aimFrames.end();
     }
 
     /**
@@ -218,6 +302,12 @@ public class FXPane extends JComponent {
             g2.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_SPEED);
             updateBigAim(g2);
         }
+
+        if (particles.getLive() > 0) {
+            particleFrames.begin();
+            particles.paint((Graphics2D) g);
+            particleFrames.end();
+        }
     }
 
 }
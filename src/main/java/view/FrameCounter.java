@@ -0,0 +1,143 @@
+package view;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Counts the frames of an animation, the time spent rendering them and the bytes allocated while rendering them, to
+ * keep an eye on the cost of the effects. A frame is measured from {@link #begin()} to {@link #end()}.
+ * <p>
+ * Allocation is measured per thread with <code>com.sun.management.ThreadMXBean</code>. On a JVM which can't measure
+ * it, only time is counted and the allocation getters return -1.
+ * <p>
+ * Not thread safe, frames are rendered on the event dispatch thread.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see FXPane
+ */
+public class FrameCounter {
+
+    private static final com.sun.management.ThreadMXBean ALLOCATION = allocationBean();
+
+    private final String name;
+    private long frames;
+    private long totalNanos;
+    private long maxNanos;
+    private long totalBytes;
+    private long maxBytes;
+
+    private long startNanos;
+    private long startBytes;
+
+    /**
+     * @param name the name of the animation, used by <code>toString</code>
+     */
+    public FrameCounter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Starts measuring a frame.
+     */
+    public void begin() {
+        startBytes = allocatedBytes();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Adds the frame started by the last call to {@link #begin()}.
+     */
+    public void end() {
+        long nanos = System.nanoTime() - startNanos;
+        long bytes = allocatedBytes() - startBytes;
+        frames++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+        totalBytes += bytes;
+        maxBytes = Math.max(maxBytes, bytes);
+    }
+
+    /**
+     * Starts counting over.
+     */
+    public void reset() {
+        frames = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+        totalBytes = 0;
+        maxBytes = 0;
+    }
+
+    /**
+     * @return the number of frames rendered
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * @return the mean time to render a frame in nanoseconds, 0 if there hasn't been any
+     */
+    public double getMeanNanos() {
+        return frames == 0 ? 0 : (double) totalNanos / frames;
+    }
+
+    /**
+     * @return the longest time to render a frame in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @return true if the bytes allocated by a frame are measured
+     */
+    public static boolean isAllocationMeasured() {
+        return ALLOCATION != null;
+    }
+
+    /**
+     * @return the mean number of bytes allocated while rendering a frame, 0 if there hasn't been any frame or -1 if
+     * allocation isn't measured
+     */
+    public double getMeanBytes() {
+        if (!isAllocationMeasured())
+            return -1;
+        return frames == 0 ? 0 : (double) totalBytes / frames;
+    }
+
+    /**
+     * @return the most bytes allocated while rendering a frame, or -1 if allocation isn't measured
+     */
+    public long getMaxBytes() {
+        return isAllocationMeasured() ? maxBytes : -1;
+    }
+
+    @Override
+    public String toString() {
+        String time = String.format("%s: %d frames, mean %.1f us, max %.1f us", name, frames, getMeanNanos() / 1e3,
+                maxNanos / 1e3);
+        if (!isAllocationMeasured())
+            return time;
+        return time + String.format(", allocated mean %.0f B, max %d B", getMeanBytes(), maxBytes);
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATION == null ? 0 : ALLOCATION.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * @return the bean measuring allocation per thread, or null if the JVM can't
+     */
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean))
+            return null;
+        com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) bean;
+        if (!allocation.isThreadAllocatedMemorySupported())
+            return null;
+        allocation.setThreadAllocatedMemoryEnabled(true);
+        return allocation;
+    }
+}
@@ -1,5 +1,6 @@
 package view;
 
+import controller.BoardListener;
 import controller.Controller;
 
 import javax.swing.*;
@@ -20,7 +21,15 @@ public class MainFrame extends JFrame {
 
     public static final String START_RESTART = "startRestart";
 
-    private BoardPanel boardPanel;
+    /**
+     * System property choosing how the board is drawn: <code>labels</code> (the default) for a {@link BoardPanel},
+     * <code>canvas</code> for a {@link BoardCanvas} and <code>accelerated</code> for a <code>BoardCanvas</code>
+     * backed by a <code>VolatileImage</code>
+     */
+    public static final String BOARD_VIEW_PROPERTY = "battleship.board";
+
+    /** The board, a <code>BoardPanel</code> or a <code>BoardCanvas</code> */
+    private JComponent boardView;
     private OutputPanel outputPanel;
     private JButton startRestartButton;
     private MyCheckBox showCheckBox;
@@ -43,8 +52,8 @@ public class MainFrame extends JFrame {
         outputPanel = new OutputPanel();
         outputPanel.setBorder(BorderFactory.createBevelBorder(BevelBorder.RAISED));
         Controller controller = new Controller(this);
-        boardPanel = new BoardPanel(controller.getGameDriver().getBoard(), controller);
-        boardPanel.setBorder(BorderFactory.createBevelBorder(BevelBorder.RAISED));
+        boardView = createBoardView(controller);
+        boardView.setBorder(BorderFactory.createBevelBorder(BevelBorder.RAISED));
         startRestartButton = new RoundRedButton();
         startRestartButton.setAlignmentX(Component.CENTER_ALIGNMENT);
         showCheckBox = new MyCheckBox("Show/Hide");
@@ -82,7 +91,7 @@ public class MainFrame extends JFrame {
         right_panel.add(Box.createVerticalStrut(40));
         right_panel.setBorder(BorderFactory.createBevelBorder(BevelBorder.RAISED));
 
-        add(boardPanel, BorderLayout.CENTER);
+        add(boardView, BorderLayout.CENTER);
         add(outputPanel, BorderLayout.SOUTH);
         add(right_panel, BorderLayout.EAST);
 
@@ -119,13 +128,28 @@ public class MainFrame extends JFrame {
         return shipsStatusPanel;
     }
 
+    /**
+     * Creates the view of the board chosen by {@link #BOARD_VIEW_PROPERTY}.
+     */
+    private JComponent createBoardView(Controller controller) {
+        String view = System.getProperty(BOARD_VIEW_PROPERTY, "labels");
+        switch (view) {
+            case "canvas":
+                return new BoardCanvas(controller.getGameDriver().getBoard(), controller, false);
+            case "accelerated":
+                return new BoardCanvas(controller.getGameDriver().getBoard(), controller, true);
+            default:
+                return new BoardPanel(controller.getGameDriver().getBoard(), controller);
+        }
+    }
+
     /**
      * Getter
      *
-     * @return a reference to the <code>BoardPanel</code>
+     * @return a reference to the view of the board, a <code>BoardPanel</code> or a <code>BoardCanvas</code>
      */
-    public BoardPanel getBoardPanel() {
-        return boardPanel;
+    public BoardListener getBoardView() {
+        return (BoardListener) boardView;
     }
 
     /**
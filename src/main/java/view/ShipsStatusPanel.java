@@ -7,7 +7,6 @@ import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.HashMap;
 
 /**
  * A panel for displaying information about the ships in the game.
@@ -32,18 +31,19 @@ public class ShipsStatusPanel extends JPanel {
     private BufferedImage patrolboatFire = createBuffImg(new ImageIcon("src/main/java/res/patrolboatFire.png", "patrolboatfire"));
 
     private ArrayList<Ship> ships;
-    private HashMap<Integer, ShipLabel> shipLabels;
+    /** The label of each ship, indexed by ship id */
+    private ShipLabel[] shipLabels;
 
     public ShipsStatusPanel() {
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         setMinimumSize(new Dimension(WIDTH, HEIGHT));
         this.ships = new ArrayList<>();
-        this.shipLabels = new HashMap<>();
+        this.shipLabels = new ShipLabel[0];
         update(ships);
     }
 
     /**
-     * Removes all ships from the panel and clears the ship map.
+     * Removes all ships from the panel and clears the ship labels.
      * Adds all new ships.
      *
      * @param ships an array of ships to be added
@@ -52,7 +52,7 @@ public class ShipsStatusPanel extends JPanel {
 
         removeAll();
         this.ships.clear();
-        this.shipLabels.clear();
+        this.shipLabels = new ShipLabel[ships.size()];
 
         this.ships = ships;
         int rows = ships.size() / 2;
@@ -71,7 +71,7 @@ public class ShipsStatusPanel extends JPanel {
                 shipLabel = new ShipLabel(patrolboat);
 
             add(shipLabel);
-            shipLabels.put(ship.getId(), shipLabel);
+            shipLabels[ship.getId()] = shipLabel;
         }
         revalidate();
         repaint();
@@ -85,15 +85,15 @@ public class ShipsStatusPanel extends JPanel {
     public void update(Ship hitShip) {
         if (hitShip.getHits() == hitShip.getLength()) {
             if (hitShip.getShipType().equals(Ship.ShipType.CARRIER))
-                shipLabels.get(hitShip.getId()).setImage(carrierFire);
+                shipLabels[hitShip.getId()].setImage(carrierFire);
             if (hitShip.getShipType().equals(Ship.ShipType.BATTLESHIP))
-                shipLabels.get(hitShip.getId()).setImage(battleshipFire);
+                shipLabels[hitShip.getId()].setImage(battleshipFire);
             if (hitShip.getShipType().equals(Ship.ShipType.SUBMARINE))
-                shipLabels.get(hitShip.getId()).setImage(submarineFire);
+                shipLabels[hitShip.getId()].setImage(submarineFire);
             if (hitShip.getShipType().equals(Ship.ShipType.PATROL_BOAT))
-                shipLabels.get(hitShip.getId()).setImage(patrolboatFire);
+                shipLabels[hitShip.getId()].setImage(patrolboatFire);
         }
-        shipLabels.get(hitShip.getId()).setHitsInfo(hitShip.getHits() + "/" + hitShip.getLength());
+        shipLabels[hitShip.getId()].setHitsInfo(hitShip.getHits() + "/" + hitShip.getLength());
     }
 
     /**
@@ -0,0 +1,68 @@
+package view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * The picture of a square, composed of layers taken from the {@link TextureCache}: the water tile, then the ship
+ * overlay if a ship is shown, then the miss or hit overlay if the square has been shot at. Only the layers are
+ * referenced, nothing is drawn until the icon is painted, and the miss and hit variants of the square are fetched
+ * the first time they're shown.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see BoardPanel.SquareLabel
+ */
+class SquareIcon implements Icon {
+
+    private final BufferedImage water;
+    private final int variant;
+
+    private boolean ship, hit;
+
+    /**
+     * @param row     the row index of the square
+     * @param col     the column index of the square
+     * @param variant the variant of the miss and hit overlays, 0 to <code>TextureCache.VARIANTS - 1</code>
+     */
+    SquareIcon(int row, int col, int variant) {
+        this.water = TextureCache.getWaterTile(row, col);
+        this.variant = variant;
+    }
+
+    /**
+     * Chooses the layers to paint.
+     *
+     * @param ship true to show a ship on the square
+     * @param hit  true if the square has been shot at
+     *
+     * @return true if the layers changed
+     */
+    boolean setLayers(boolean ship, boolean hit) {
+        if (ship == this.ship && hit == this.hit)
+            return false;
+        this.ship = ship;
+        this.hit = hit;
+        return true;
+    }
+
+    @Override
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        g.drawImage(water, x, y, null);
+        if (ship)
+            g.drawImage(TextureCache.getShipOverlay(), x, y, null);
+        if (hit)
+            g.drawImage(ship ? TextureCache.getHitOverlay(variant) : TextureCache.getMissOverlay(variant), x, y, null);
+    }
+
+    @Override
+    public int getIconWidth() {
+        return water.getWidth();
+    }
+
+    @Override
+    public int getIconHeight() {
+        return water.getHeight();
+    }
+}
@@ -0,0 +1,145 @@
+package view;
+
+import model.Board;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Images shared by all squares of the board. The water background is decoded and drawn into a sheet the size of the
+ * board once, on first use, and every square gets the tile cut out of the sheet at its position. The tiles are
+ * subimages, so they share the sheet's pixels and must not be drawn on.
+ * <p>
+ * The marks drawn over a square, a ship and the randomized spots of a miss or a hit, are transparent overlays
+ * painted on top of the tile. There are <code>VARIANTS</code> variants of the miss and hit overlays, each generated
+ * the first time it's asked for, so memory is bounded however large the board is and squares which are never shot
+ * at cost nothing.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ * @see BoardPanel
+ */
+final class TextureCache {
+
+    static final String WATER_BACKGROUND = "src/main/java/res/waterbg.jpg";
+
+    /** Number of variants of the miss and hit overlays */
+    static final int VARIANTS = 8;
+
+    private static final Random random = new Random();
+
+    private static BufferedImage shipOverlay;
+    private static final BufferedImage[] missOverlays = new BufferedImage[VARIANTS];
+    private static final BufferedImage[] hitOverlays = new BufferedImage[VARIANTS];
+
+    /**
+     * Holder of the water tiles, created when first accessed.
+     */
+    private static class Water {
+        static final BufferedImage[] TILES = createWaterTiles();
+    }
+
+    private TextureCache() {
+    }
+
+    /**
+     * Getter
+     *
+     * @param row a row index
+     * @param col a column index
+     *
+     * @return the water background of the square, shared and read only
+     */
+    static BufferedImage getWaterTile(int row, int col) {
+        return Water.TILES[row * Board.COLUMNS + col];
+    }
+
+    /**
+     * Getter
+     *
+     * @return the overlay of a ship (filled circle), shared and read only
+     */
+    static synchronized BufferedImage getShipOverlay() {
+        if (shipOverlay == null) {
+            BufferedImage buff = createOverlay();
+            Graphics2D g2 = buff.createGraphics();
+            g2.setPaint(Color.BLACK);
+            g2.fillArc(buff.getWidth() / 5, buff.getHeight() / 5, buff.getWidth() * 3 / 5, buff.getHeight() * 3 / 5, 0, 360);
+            g2.dispose();
+            shipOverlay = buff;
+        }
+        return shipOverlay;
+    }
+
+    /**
+     * Gets an overlay of randomly placed dark boxes, representing a miss.
+     *
+     * @param variant the variant, 0 to <code>VARIANTS - 1</code>
+     *
+     * @return the overlay, shared and read only
+     */
+    static synchronized BufferedImage getMissOverlay(int variant) {
+        if (missOverlays[variant] == null) {
+            BufferedImage buff = createOverlay();
+            Graphics2D g2 = buff.createGraphics();
+            g2.setPaint(new Color(100, 100, 100, 80));
+            g2.fillRect(0, 0, buff.getWidth(), buff.getHeight());
+            for (int i = 0; i < 10; i++) {
+                int gr = random.nextInt(100);
+                g2.setPaint(new Color(gr, gr, 100, 125));
+                g2.rotate(random.nextDouble(), buff.getWidth() / 2, buff.getHeight() / 2);
+                g2.fillArc(buff.getWidth() / 2, buff.getHeight() / 2, random.nextInt(35), random.nextInt(35), 0, 360);
+                g2.rotate(random.nextDouble(), buff.getWidth() / 2, buff.getHeight() / 2);
+                g2.fillRect(buff.getWidth() / 2, buff.getHeight() / 2, random.nextInt(35), random.nextInt(35));
+            }
+            g2.dispose();
+            missOverlays[variant] = buff;
+        }
+        return missOverlays[variant];
+    }
+
+    /**
+     * Gets an overlay of red spots, representing a hit. It's meant to be painted over the ship overlay.
+     *
+     * @param variant the variant, 0 to <code>VARIANTS - 1</code>
+     *
+     * @return the overlay, shared and read only
+     */
+    static synchronized BufferedImage getHitOverlay(int variant) {
+        if (hitOverlays[variant] == null) {
+            BufferedImage buff = createOverlay();
+            Graphics2D g2 = buff.createGraphics();
+            g2.setPaint(new Color(random.nextInt(101) + 155, 0, 0, 125));
+            g2.fillRect(0, 0, buff.getWidth(), buff.getHeight());
+            for (int i = 0; i < 25; i++) {
+                g2.setPaint(new Color(255, random.nextInt(200), 0, 150));
+                g2.rotate(random.nextDouble(), buff.getWidth() / 2, buff.getHeight() / 2);
+                g2.fillArc(buff.getWidth() / 2, buff.getHeight() / 2, random.nextInt(35), random.nextInt(35), 0, 360);
+            }
+            g2.dispose();
+            hitOverlays[variant] = buff;
+        }
+        return hitOverlays[variant];
+    }
+
+    private static BufferedImage createOverlay() {
+        return new BufferedImage(BoardPanel.SQUARE_WIDTH, BoardPanel.SQUARE_WIDTH, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static BufferedImage[] createWaterTiles() {
+        int size = BoardPanel.SQUARE_WIDTH;
+        BufferedImage sheet = new BufferedImage(size * Board.COLUMNS, size * Board.ROWS,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = sheet.createGraphics();
+        new ImageIcon(WATER_BACKGROUND, "waterbg").paintIcon(null, g2, 0, 0);
+        g2.dispose();
+
+        BufferedImage[] tiles = new BufferedImage[Board.ROWS * Board.COLUMNS];
+        for (int r = 0; r < Board.ROWS; r++)
+            for (int c = 0; c < Board.COLUMNS; c++)
+                tiles[r * Board.COLUMNS + c] = sheet.getSubimage(size * c, size * r, size, size);
+        return tiles;
+    }
+}
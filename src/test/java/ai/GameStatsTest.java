@@ -0,0 +1,40 @@
+package ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of {@link GameStats}.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+class GameStatsTest {
+
+    @Test
+    void emptyStatsHaveNoExtremes() {
+        GameStats stats = new GameStats();
+
+        assertEquals(0, stats.getMin());
+        assertEquals(0, stats.getMax());
+        assertEquals("no games won", stats.toString());
+    }
+
+    @Test
+    void abandonedGamesAreCountedApart() {
+        GameStats chunk = new GameStats();
+        chunk.add(40);
+        chunk.add(60);
+        chunk.addAbandoned();
+        GameStats stats = new GameStats();
+        stats.addAbandoned();
+        stats.add(chunk);
+
+        assertEquals(2, stats.getCount());
+        assertEquals(2, stats.getAbandoned());
+        assertEquals(50, stats.getMean(), 1e-9);
+        assertEquals(40, stats.getMin());
+        assertEquals(60, stats.getPercentile(99));
+    }
+}
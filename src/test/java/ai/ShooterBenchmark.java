@@ -0,0 +1,90 @@
+package ai;
+
+import engine.Fleets;
+import helpers.GradeLevel;
+import model.BenchSupport;
+import model.Board;
+
+import java.util.SplittableRandom;
+
+/**
+ * A benchmark of {@link DensityShooter} against the random layouts of <code>Board.newGame</code>.
+ * <p>
+ * For each grade level it plays a number of games to the end and reports the average number of shots to win
+ * (with standard deviation, best and worst game) and the time to pick and update a move, next to a baseline
+ * shooting at random unshot squares.
+ * <p>
+ * It's run by hand after <code>mvn test-compile</code>:
+ * <code>java -cp target/classes:target/test-classes ai.ShooterBenchmark [games]</code>
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class ShooterBenchmark {
+
+    public static void main(String[] args) {
+        int games = BenchSupport.intArg(args, 0, 5000);
+
+        for (GradeLevel gradeLevel : GradeLevel.values()) {
+            System.out.printf("Fleet %s, %d games%n", gradeLevel == GradeLevel.GODKAND ? "G" : "VG", games);
+            System.out.printf("  %-10s %10s %8s %6s %6s %12s%n", "shooter", "mean", "stddev", "best", "worst",
+                    "us/move");
+            run("density", gradeLevel, games, true);
+            run("random", gradeLevel, games, false);
+        }
+    }
+
+    private static void run(String name, GradeLevel gradeLevel, int games, boolean density) {
+        Board board = new Board();
+        SplittableRandom random = new SplittableRandom(42);
+        DensityShooter shooter = new DensityShooter(board, random.split());
+        int[] order = new int[Board.ROWS * Board.COLUMNS];
+
+        long sum = 0;
+        long sumOfSquares = 0;
+        int best = Integer.MAX_VALUE;
+        int worst = 0;
+        long moveNanos = 0;
+        for (int game = 0; game < games; game++) {
+            if (!board.newGame(Fleets.create(gradeLevel)))
+                throw new IllegalStateException("the fleet can't be placed");
+            shooter.reset();
+            shuffle(order, random);
+
+            int shots = 0;
+            while (!board.isGameOver()) {
+                long start = System.nanoTime();
+                int cell = density ? shooter.nextShot() : order[shots];
+                moveNanos += System.nanoTime() - start;
+
+                board.setSquare(cell / Board.COLUMNS, cell % Board.COLUMNS);
+
+                start = System.nanoTime();
+                if (density)
+                    shooter.update(cell / Board.COLUMNS, cell % Board.COLUMNS);
+                moveNanos += System.nanoTime() - start;
+                shots++;
+            }
+            sum += shots;
+            sumOfSquares += (long) shots * shots;
+            best = Math.min(best, shots);
+            worst = Math.max(worst, shots);
+        }
+
+        double mean = (double) sum / games;
+        double stddev = Math.sqrt(Math.max(0, (double) sumOfSquares / games - mean * mean));
+        System.out.printf("  %-10s %10.2f %8.2f %6d %6d %12.2f%n", name, mean, stddev, best, worst,
+                moveNanos / 1e3 / sum);
+    }
+
+    private static void shuffle(int[] order, SplittableRandom random) {
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+    }
+}
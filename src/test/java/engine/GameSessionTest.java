@@ -0,0 +1,73 @@
+package engine;
+
+import helpers.GradeLevel;
+import model.IBoard;
+import model.ShotResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link GameSession#play(ShootingStrategy)}.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+class GameSessionTest {
+
+    /**
+     * Shoots at every square in row order, or picks no square at all.
+     */
+    private static class SweepStrategy implements ShootingStrategy {
+
+        private final boolean pick;
+        private int next;
+        private int reported;
+
+        SweepStrategy(boolean pick) {
+            this.pick = pick;
+        }
+
+        @Override
+        public void newGame(IBoard board) {
+            next = 0;
+            reported = 0;
+        }
+
+        @Override
+        public int nextShot() {
+            return pick ? next++ : -1;
+        }
+
+        @Override
+        public void shotFired(int row, int col, ShotResult result) {
+            reported++;
+        }
+    }
+
+    @Test
+    void playReturnsTheShotsToWin() {
+        GameSession session = new GameSession();
+        assertTrue(session.start(GradeLevel.VAL_GODKAND));
+        SweepStrategy strategy = new SweepStrategy(true);
+
+        int shots = session.play(strategy);
+
+        assertFalse(session.isRunning());
+        assertEquals(session.getShots(), shots);
+        assertEquals(shots, strategy.reported);
+    }
+
+    @Test
+    void playReportsAStrategyWhichGivesUp() {
+        GameSession session = new GameSession();
+        assertTrue(session.start(GradeLevel.GODKAND));
+        SweepStrategy strategy = new SweepStrategy(false);
+
+        assertEquals(GameSession.GAVE_UP, session.play(strategy));
+        assertTrue(session.isRunning());
+        assertEquals(0, strategy.reported);
+    }
+}
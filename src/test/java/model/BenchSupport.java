@@ -0,0 +1,90 @@
+package model;
+
+import engine.Fleets;
+import helpers.GradeLevel;
+
+/**
+ * Helpers shared by the benchmark and statistics harnesses and the offline tools in the test sources of all packages.
+ * They aren't tests and don't go into the application jar, they are run by hand after <code>mvn test-compile</code>,
+ * e.g. <code>java -cp target/classes:target/test-classes model.SamplerStats</code>.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public final class BenchSupport {
+
+    private BenchSupport() {
+    }
+
+    /**
+     * @param gradeLevel a grade level
+     *
+     * @return the ship types of the game's fleet for the grade level
+     */
+    public static Ship.ShipType[] fleet(GradeLevel gradeLevel) {
+        return Fleets.types(gradeLevel);
+    }
+
+    /**
+     * @param fleet ship types
+     *
+     * @return a new ship of each type
+     */
+    public static Ship[] ships(Ship.ShipType[] fleet) {
+        Ship[] ships = new Ship[fleet.length];
+        for (int i = 0; i < fleet.length; i++)
+            ships[i] = Ship.createShip(fleet[i]);
+        return ships;
+    }
+
+    /**
+     * @param args         the command line arguments
+     * @param i            the position of the argument
+     * @param defaultValue the value if the argument isn't given
+     *
+     * @return the argument as an int
+     */
+    public static int intArg(String[] args, int i, int defaultValue) {
+        return args.length > i ? Integer.parseInt(args[i]) : defaultValue;
+    }
+
+    /**
+     * @param args         the command line arguments
+     * @param i            the position of the argument
+     * @param defaultValue the value if the argument isn't given
+     *
+     * @return the argument as a long
+     */
+    public static long longArg(String[] args, int i, long defaultValue) {
+        return args.length > i ? Long.parseLong(args[i]) : defaultValue;
+    }
+
+    /**
+     * @param start a time from <code>System.nanoTime()</code>
+     *
+     * @return the seconds elapsed since the time
+     */
+    public static double secondsSince(long start) {
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    /**
+     * @param count a number of operations
+     * @param nanos the time they took in nanoseconds
+     *
+     * @return operations per second
+     */
+    public static double perSecond(long count, long nanos) {
+        return count / (nanos / 1e9);
+    }
+
+    /**
+     * @return the heap in use after a few garbage collections, in bytes
+     */
+    public static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,111 @@
+package model;
+
+import controller.BoardListener;
+import engine.Fleets;
+import helpers.GradeLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A stress test for concurrent shots on one {@link Board}. In every round a new game is started and a number of
+ * threads, released together, each shoot at every square in their own random order. Afterwards the test checks that
+ * every square got through exactly once, that every ship was sunk by exactly one shot, that there was exactly one
+ * victory, and that the counters and listener notifications add up.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+class BoardConcurrencyTest {
+
+    private static final int ROUNDS = 200;
+    private static final int THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    @Test
+    void everyShotIsAppliedOnce() throws InterruptedException {
+        Board board = new Board();
+        AtomicInteger notified = new AtomicInteger();
+        board.addListener(new BoardListener() {
+            @Override
+            public void boardChanged() {
+            }
+
+            @Override
+            public void squareChanged(int row, int col) {
+                notified.incrementAndGet();
+            }
+        });
+
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        int[][] results = new int[THREADS][ShotResult.values().length];
+
+        for (int round = 0; round < ROUNDS; round++) {
+            Ship[] ships = Fleets.create(GradeLevel.VAL_GODKAND);
+            assertTrue(board.newGame(ships), "the fleet can't be placed");
+            notified.set(0);
+            int fleetLength = 0;
+            for (Ship ship : ships)
+                fleetLength += ship.getLength();
+
+            Thread[] shooters = new Thread[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                int[] counts = results[t] = new int[ShotResult.values().length];
+                SplittableRandom random = new SplittableRandom(31L * round + t);
+                shooters[t] = new Thread(() -> shootAll(board, random, start, counts));
+            }
+            for (Thread shooter : shooters)
+                shooter.start();
+            for (Thread shooter : shooters)
+                shooter.join();
+
+            int[] total = new int[ShotResult.values().length];
+            for (int[] counts : results)
+                for (int i = 0; i < total.length; i++)
+                    total[i] += counts[i];
+            int sunk = total[ShotResult.SUNK.ordinal()] + total[ShotResult.VICTORY.ordinal()];
+            int hits = total[ShotResult.HIT.ordinal()] + sunk;
+            String in = "round " + round + ": ";
+
+            assertEquals(BitBoard.CELLS, hits + total[ShotResult.MISS.ordinal()], in + "accepted shots");
+            assertEquals((THREADS - 1) * BitBoard.CELLS, total[ShotResult.REPEAT.ordinal()], in + "repeated shots");
+            assertEquals(fleetLength, hits, in + "hits");
+            assertEquals(ships.length, sunk, in + "sinking shots");
+            assertEquals(1, total[ShotResult.VICTORY.ordinal()], in + "victories");
+            assertEquals(fleetLength, board.getHitCount(), in + "hit count");
+            assertEquals(BitBoard.CELLS - fleetLength, board.getMissCount(), in + "miss count");
+            assertEquals(ships.length, board.getShipsSunk(), in + "ships sunk");
+            assertEquals(BitBoard.CELLS, notified.get(), in + "notifications");
+            for (Ship ship : ships)
+                assertEquals(ship.getLength(), ship.getHits(), in + "hits on a " + ship.getShipType());
+            assertTrue(board.isGameOver(), in + "game not over");
+        }
+    }
+
+    /**
+     * Waits for the other threads, then shoots at every square in a random order and counts the outcomes.
+     */
+    private static void shootAll(Board board, SplittableRandom random, CyclicBarrier start, int[] counts) {
+        int[] order = new int[BitBoard.CELLS];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        try {
+            start.await();
+        } catch (InterruptedException | BrokenBarrierException e) {
+            throw new IllegalStateException(e);
+        }
+        for (int index : order)
+            counts[board.shoot(index / Board.COLUMNS, index % Board.COLUMNS).ordinal()]++;
+    }
+}
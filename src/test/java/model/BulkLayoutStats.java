@@ -0,0 +1,46 @@
+package model;
+
+import helpers.GradeLevel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A throughput harness for {@link BulkLayoutGenerator}, reporting layouts per second and the speedup over one
+ * thread for every pool size up to the number of available processors.
+ * <p>
+ * Usage: <code>java model.BulkLayoutStats [layouts]</code>, see {@link BenchSupport}
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class BulkLayoutStats {
+
+    public static void main(String[] args) {
+        long layouts = BenchSupport.longArg(args, 0, 200000);
+        Ship.ShipType[] fleet = BenchSupport.fleet(GradeLevel.VAL_GODKAND);
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("Fleet VG, %d layouts, %d processors%n", layouts, processors);
+        System.out.printf("  %-8s %12s %8s%n", "threads", "layouts/s", "speedup");
+        double single = 0;
+        for (int threads = 1; threads <= processors;
+             threads = threads < processors ? Math.min(2 * threads, processors) : threads + 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            BulkLayoutGenerator generator = new BulkLayoutGenerator(fleet, pool);
+            LongAdder generated = new LongAdder();
+
+            // warm up
+            generator.generate(layouts / 10, 1, (first, count, chunk) -> generated.add(count));
+
+            long start = System.nanoTime();
+            generator.generate(layouts, 42, (first, count, chunk) -> generated.add(count));
+            double rate = BenchSupport.perSecond(layouts, System.nanoTime() - start);
+            pool.shutdown();
+
+            if (threads == 1)
+                single = rate;
+            System.out.printf("  %-8d %12.0f %8.2f%n", threads, rate, rate / single);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package model;
+
+import helpers.GradeLevel;
+
+/**
+ * A footprint harness for {@link GameStore}. It fills the heap with idle games, first as <code>Board</code>s with
+ * their ships, then as records in a heap store and in a direct (off-heap) store, and reports the memory used per
+ * game. The layouts are taken round-robin from a bank sampled by {@link BulkLayoutGenerator}, since only the size of
+ * a game matters here. Finally every stored game is played to the end to check the store and measure shots per
+ * second.
+ * <p>
+ * Usage: <code>java model.GameStoreStats [games] [boards]</code>, see {@link BenchSupport}
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class GameStoreStats {
+
+    private static final int BANK_SIZE = 4096;
+
+    public static void main(String[] args) {
+        int games = BenchSupport.intArg(args, 0, 1000000);
+        int boards = BenchSupport.intArg(args, 1, 100000);
+
+        Ship.ShipType[] fleet = BenchSupport.fleet(GradeLevel.VAL_GODKAND);
+        short[] bank = new BulkLayoutGenerator(fleet).generate(BANK_SIZE, 42);
+        int[] layout = new int[fleet.length];
+
+        System.out.printf("Fleet VG, max heap %.0f MB%n", Runtime.getRuntime().maxMemory() / 1e6);
+        System.out.printf("  %-12s %10s %12s %12s %14s%n", "storage", "games", "heap MB", "off-heap MB", "bytes/game");
+
+        long before = BenchSupport.usedHeap();
+        Board[] held = new Board[boards];
+        for (int n = 0; n < boards; n++) {
+            Board board = new Board();
+            board.placeLayout(BenchSupport.ships(fleet), next(bank, n, layout));
+            held[n] = board;
+        }
+        printRow("Board", boards, BenchSupport.usedHeap() - before, 0);
+        held = null;
+
+        for (boolean direct : new boolean[]{false, true}) {
+            before = BenchSupport.usedHeap();
+            GameStore store = new GameStore(direct);
+            for (int n = 0; n < games; n++)
+                store.create(next(bank, n, layout));
+            long heap = BenchSupport.usedHeap() - before;
+            long offHeap = direct ? store.getSlabBytes() : 0;
+            printRow(direct ? "store/direct" : "store/heap", games, heap, offHeap);
+
+            if (!direct)
+                play(store, games);
+        }
+    }
+
+    /**
+     * Shoots every square of every game in row order and checks that each game ends with a victory.
+     */
+    private static void play(GameStore store, int games) {
+        long shots = 0;
+        long start = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            ShotResult result = ShotResult.INVALID;
+            for (int index = 0; index < BitBoard.CELLS && result != ShotResult.VICTORY; index++, shots++)
+                result = store.shoot(game, index / Board.COLUMNS, index % Board.COLUMNS);
+            if (result != ShotResult.VICTORY || !store.isGameOver(game))
+                throw new IllegalStateException("game " + game + " didn't end with a victory");
+        }
+        System.out.printf("  played %d stored games to the end: %.0f shots/s%n", games,
+                BenchSupport.perSecond(shots, System.nanoTime() - start));
+    }
+
+    private static int[] next(short[] bank, int n, int[] layout) {
+        int from = (n % BANK_SIZE) * layout.length;
+        for (int i = 0; i < layout.length; i++)
+            layout[i] = bank[from + i];
+        return layout;
+    }
+
+    private static void printRow(String name, int games, long heap, long offHeap) {
+        System.out.printf("  %-12s %10d %12.1f %12.1f %14.1f%n", name, games, heap / 1e6, offHeap / 1e6,
+                (double) (heap + offHeap) / games);
+    }
+}
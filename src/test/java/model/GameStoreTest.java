@@ -0,0 +1,65 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the layouts accepted by {@link GameStore#create(int[])}.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+class GameStoreTest {
+
+    private static final Ship.ShipType SUB = Ship.ShipType.SUBMARINE;
+    private static final Ship.ShipType PATROL = Ship.ShipType.PATROL_BOAT;
+
+    @Test
+    void acceptsSeparatedShips() {
+        GameStore store = new GameStore();
+        int game = store.create(new int[]{
+                Placements.index(SUB, Direction.RIGHT, 0, 0),
+                Placements.index(PATROL, Direction.RIGHT, 2, 0)});
+
+        assertEquals(2, store.getFleetSize(game));
+        assertTrue(store.isOccupied(game, 2, 1));
+    }
+
+    @Test
+    void rejectsOverlappingShips() {
+        GameStore store = new GameStore();
+        int[] layout = {
+                Placements.index(SUB, Direction.RIGHT, 0, 0),
+                Placements.index(PATROL, Direction.DOWN, 0, 1)};
+
+        assertThrows(IllegalArgumentException.class, () -> store.create(layout));
+        assertEquals(0, store.getGameCount());
+    }
+
+    @Test
+    void rejectsTouchingShips() {
+        GameStore store = new GameStore();
+        int[] beside = {
+                Placements.index(SUB, Direction.RIGHT, 0, 0),
+                Placements.index(PATROL, Direction.RIGHT, 1, 0)};
+        int[] endToEnd = {
+                Placements.index(SUB, Direction.RIGHT, 0, 0),
+                Placements.index(PATROL, Direction.RIGHT, 0, 3)};
+
+        assertThrows(IllegalArgumentException.class, () -> store.create(beside));
+        assertThrows(IllegalArgumentException.class, () -> store.create(endToEnd));
+    }
+
+    @Test
+    void acceptsDiagonalNeighbours() {
+        GameStore store = new GameStore();
+        int game = store.create(new int[]{
+                Placements.index(SUB, Direction.RIGHT, 0, 0),
+                Placements.index(PATROL, Direction.DOWN, 1, 3)});
+
+        assertEquals(2, store.getFleetSize(game));
+    }
+}
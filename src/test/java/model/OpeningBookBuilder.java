@@ -0,0 +1,162 @@
+package model;
+
+import helpers.GradeLevel;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Builds the {@link OpeningBook} offline.
+ * <p>
+ * For each fleet configuration, the builder walks the tree of openings from the empty board: in every state it
+ * counts the consistent layouts with a {@link PlacementCounter} and picks the square most likely to be occupied,
+ * then follows both outcomes of the shot, a miss and a hit which doesn't sink a ship, down to a given number of
+ * shots. A sunk ship ends the opening. States are canonicalized (see {@link Symmetry}), so symmetric openings are
+ * stored and expanded once, and ties between squares are broken by the smallest index in the orientation of the
+ * representative, so the book is the same in every run.
+ * <p>
+ * Usage: <code>java model.OpeningBookBuilder [file] [shots G] [shots VG]</code>, see {@link BenchSupport}
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class OpeningBookBuilder {
+
+    private final PlacementCounter counter;
+
+    /** The best shot of each state, by canonical key */
+    private final Map<Long, Integer> entries = new TreeMap<>();
+
+    /**
+     * @param counter the counter used to rate the squares
+     */
+    public OpeningBookBuilder(PlacementCounter counter) {
+        this.counter = counter;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : OpeningBook.DEFAULT_PATH);
+        int shotsG = BenchSupport.intArg(args, 1, 12);
+        int shotsVG = BenchSupport.intArg(args, 2, 8);
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(new PlacementCounter(
+                PlacementCounter.DEFAULT_STATE_BUDGET, PlacementCounter.DEFAULT_SAMPLES, new SplittableRandom(42)));
+        build(builder, "G", BenchSupport.fleet(GradeLevel.GODKAND), shotsG);
+        build(builder, "VG", BenchSupport.fleet(GradeLevel.VAL_GODKAND), shotsVG);
+        builder.write(path);
+        System.out.printf("%d states, %d bytes written to %s%n", builder.getSize(), Files.size(path), path);
+    }
+
+    private static void build(OpeningBookBuilder builder, String name, Ship.ShipType[] fleet, int shots) {
+        int before = builder.getSize();
+        long start = System.nanoTime();
+        builder.add(fleet, shots);
+        System.out.printf("Fleet %s: %d states for the first %d shots in %.1f s%n", name,
+                builder.getSize() - before, shots, BenchSupport.secondsSince(start));
+    }
+
+    /**
+     * Adds the openings of a fleet configuration.
+     *
+     * @param fleet the ship types of the fleet
+     * @param shots the number of shots covered by the book
+     */
+    public void add(Ship.ShipType[] fleet, int shots) {
+        Deque<Revealed> pending = new ArrayDeque<>();
+        pending.push(new Revealed(fleet.clone(), new int[0], new int[0], new int[0]));
+        long[] hashes = new long[Symmetry.COUNT];
+        while (!pending.isEmpty()) {
+            Revealed state = pending.pop();
+            int transform = state.canonicalTransform(hashes);
+            if (entries.containsKey(hashes[transform]))
+                continue;
+
+            PlacementCounter.Result result = counter.count(state.remaining, state.hits, state.misses,
+                    state.sunkPlacements);
+            if (result.getLayouts() == 0)
+                continue;
+            int best = bestShot(state, result, transform);
+            entries.put(hashes[transform], Symmetry.square(transform, best));
+
+            if (state.hits.length + state.misses.length + 1 >= shots)
+                continue;
+            double probability = result.getProbability(best / Board.COLUMNS, best % Board.COLUMNS);
+            if (probability < 1)
+                pending.push(new Revealed(state.remaining, state.hits, append(state.misses, best),
+                        state.sunkPlacements));
+            if (probability > 0)
+                pending.push(new Revealed(state.remaining, append(state.hits, best), state.misses,
+                        state.sunkPlacements));
+        }
+    }
+
+    /**
+     * @return the number of states in the book
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the book in the format read by {@link OpeningBook}.
+     *
+     * @param path the file
+     *
+     * @throws IOException if the file can't be written
+     */
+    public void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<Long, Integer> entry : entries.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeByte(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return the unshot square most likely to be occupied, ties broken by the smallest index of its image under
+     * the canonical transform
+     */
+    private static int bestShot(Revealed state, PlacementCounter.Result result, int transform) {
+        boolean[] shot = new boolean[BitBoard.CELLS];
+        for (int i : state.hits)
+            shot[i] = true;
+        for (int i : state.misses)
+            shot[i] = true;
+        for (int p : state.sunkPlacements)
+            for (int i = 0; i < BitBoard.CELLS; i++)
+                shot[i] |= Placements.covers(p, i / Board.COLUMNS, i % Board.COLUMNS);
+        int best = -1;
+        double most = -1;
+        for (int i = 0; i < BitBoard.CELLS; i++) {
+            if (shot[i])
+                continue;
+            double probability = result.getProbability(i / Board.COLUMNS, i % Board.COLUMNS);
+            if (probability > most || probability == most
+                    && Symmetry.square(transform, i) < Symmetry.square(transform, best)) {
+                best = i;
+                most = probability;
+            }
+        }
+        return best;
+    }
+
+    private static int[] append(int[] squares, int square) {
+        int[] appended = Arrays.copyOf(squares, squares.length + 1);
+        appended[squares.length] = square;
+        return appended;
+    }
+}
@@ -0,0 +1,101 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that answers from the cache of a {@link PlacementCounter}, keyed canonically or by the state as it is,
+ * are the same as fresh counts of the query's own state.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+class PlacementCounterCacheTest {
+
+    private static final Ship.ShipType[] FLEET = {
+            Ship.ShipType.BATTLESHIP, Ship.ShipType.SUBMARINE, Ship.ShipType.PATROL_BOAT
+    };
+
+    @Test
+    void canonicalCacheAnswersEveryImageOfAState() {
+        PlacementCounter fresh = new PlacementCounter();
+        for (Revealed state : openings(4, 6)) {
+            PlacementCounter cached = new PlacementCounter();
+            cached.setCache(new TranspositionCache<>(64, TranspositionCache.EvictionPolicy.LRU));
+            cached.count(state.remaining, state.hits, state.misses, state.sunkPlacements);
+
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                Revealed image = transform(state, t);
+                PlacementCounter.Result answer = cached.count(image.remaining, image.hits, image.misses,
+                        image.sunkPlacements);
+                assertTrue(answer.isCached(), "transform " + t);
+                assertSame(fresh.count(image.remaining, image.hits, image.misses, image.sunkPlacements), answer);
+            }
+        }
+    }
+
+    @Test
+    void plainCacheAnswersTheSameState() {
+        PlacementCounter fresh = new PlacementCounter();
+        for (Revealed state : openings(4, 6)) {
+            PlacementCounter cached = new PlacementCounter();
+            cached.setCache(new TranspositionCache<>(64, TranspositionCache.EvictionPolicy.LRU), false);
+            cached.count(state.remaining, state.hits, state.misses, state.sunkPlacements);
+
+            PlacementCounter.Result answer = cached.count(state.remaining, state.hits, state.misses,
+                    state.sunkPlacements);
+            assertTrue(answer.isCached());
+            assertSame(fresh.count(state.remaining, state.hits, state.misses, state.sunkPlacements), answer);
+        }
+    }
+
+    private static void assertSame(PlacementCounter.Result expected, PlacementCounter.Result actual) {
+        assertTrue(expected.isExact() && actual.isExact());
+        assertEquals(expected.getLayouts(), actual.getLayouts());
+        for (int r = 0; r < Board.ROWS; r++)
+            for (int c = 0; c < Board.COLUMNS; c++)
+                assertEquals(expected.getProbability(r, c), actual.getProbability(r, c), 1e-12,
+                        "square " + r + "," + c);
+    }
+
+    /**
+     * @return the states after a few random shots in a number of games
+     */
+    static Revealed[] openings(int games, int shots) {
+        SplittableRandom random = new SplittableRandom(7);
+        Board board = new Board(random.split());
+        Revealed[] states = new Revealed[games];
+        for (int game = 0; game < games; game++) {
+            Ship[] ships = new Ship[FLEET.length];
+            for (int i = 0; i < ships.length; i++)
+                ships[i] = Ship.createShip(FLEET[i]);
+            assertTrue(board.newGame(ships));
+            for (int shot = 0; shot < shots; shot++) {
+                int index = random.nextInt(BitBoard.CELLS);
+                board.shoot(index / Board.COLUMNS, index % Board.COLUMNS);
+            }
+            states[game] = Revealed.of(board);
+        }
+        return states;
+    }
+
+    /**
+     * @return the image of a state under a transform
+     */
+    static Revealed transform(Revealed state, int t) {
+        int[] hits = new int[state.hits.length];
+        for (int i = 0; i < hits.length; i++)
+            hits[i] = Symmetry.square(t, state.hits[i]);
+        int[] misses = new int[state.misses.length];
+        for (int i = 0; i < misses.length; i++)
+            misses[i] = Symmetry.square(t, state.misses[i]);
+        int[] sunk = new int[state.sunkPlacements.length];
+        for (int i = 0; i < sunk.length; i++)
+            sunk[i] = Symmetry.placement(t, state.sunkPlacements[i]);
+        return new Revealed(state.remaining, hits, misses, sunk);
+    }
+}
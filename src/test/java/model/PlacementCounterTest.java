@@ -0,0 +1,120 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the exact count and the Monte Carlo fallback of {@link PlacementCounter}.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+class PlacementCounterTest {
+
+    private static final int[] NONE = new int[0];
+
+    @Test
+    void singleShipOnEmptyBoard() {
+        Ship.ShipType type = Ship.ShipType.SUBMARINE;
+        int length = type.getLength();
+        int expected = Board.ROWS * (Board.COLUMNS - length + 1) + Board.COLUMNS * (Board.ROWS - length + 1);
+
+        PlacementCounter.Result result = new PlacementCounter().count(new Ship.ShipType[]{type}, NONE, NONE, NONE);
+
+        assertTrue(result.isExact());
+        assertEquals(expected, result.getLayouts());
+        // a corner square is only covered by one horizontal and one vertical placement
+        assertEquals(2.0 / expected, result.getProbability(0, 0), 1e-12);
+    }
+
+    @Test
+    void twoShipsMatchEnumeration() {
+        Ship.ShipType[][] fleets = {
+                {Ship.ShipType.SUBMARINE, Ship.ShipType.PATROL_BOAT},
+                {Ship.ShipType.PATROL_BOAT, Ship.ShipType.PATROL_BOAT}
+        };
+        for (Ship.ShipType[] fleet : fleets) {
+            double[] occupancy = new double[BitBoard.CELLS];
+            long expected = enumerate(fleet[0], fleet[1], occupancy);
+
+            PlacementCounter.Result result = new PlacementCounter().count(fleet, NONE, NONE, NONE);
+
+            assertTrue(result.isExact());
+            assertEquals(expected, result.getLayouts());
+            for (int i = 0; i < BitBoard.CELLS; i++)
+                assertEquals(occupancy[i] / expected, result.getProbability(i / Board.COLUMNS, i % Board.COLUMNS),
+                        1e-12);
+        }
+    }
+
+    @Test
+    void estimateAgreesWithExactCount() {
+        Ship.ShipType[] fleet = {Ship.ShipType.BATTLESHIP, Ship.ShipType.SUBMARINE, Ship.ShipType.PATROL_BOAT};
+        int[] hits = {BitBoard.index(4, 4)};
+        int[] misses = {BitBoard.index(2, 2), BitBoard.index(7, 5)};
+
+        PlacementCounter.Result exact = new PlacementCounter().count(fleet, hits, misses, NONE);
+        // no memoized state is allowed, so the query has to fall back to sampling
+        PlacementCounter.Result estimate = new PlacementCounter(0, 200000, new SplittableRandom(42))
+                .count(fleet, hits, misses, NONE);
+
+        assertTrue(exact.isExact());
+        assertFalse(estimate.isExact());
+        assertEquals(1, estimate.getLayouts() / exact.getLayouts(), 0.03);
+        for (int r = 0; r < Board.ROWS; r++)
+            for (int c = 0; c < Board.COLUMNS; c++)
+                assertEquals(exact.getProbability(r, c), estimate.getProbability(r, c), 0.02);
+    }
+
+    @Test
+    void cachedAnswerIsMarkedAndTimedByItsLookup() {
+        PlacementCounter counter = new PlacementCounter();
+        counter.setCache(new TranspositionCache<>(16, TranspositionCache.EvictionPolicy.LRU));
+        Ship.ShipType[] fleet = {Ship.ShipType.BATTLESHIP, Ship.ShipType.SUBMARINE, Ship.ShipType.PATROL_BOAT};
+
+        PlacementCounter.Result first = counter.count(fleet, NONE, NONE, NONE);
+        PlacementCounter.Result second = counter.count(fleet, NONE, NONE, NONE);
+
+        assertFalse(first.isCached());
+        assertTrue(second.isCached());
+        assertTrue(second.getElapsedNanos() < first.getElapsedNanos());
+    }
+
+    /**
+     * Enumerates the layouts of two ships, counting a pair of ships of the same type once.
+     *
+     * @return the number of layouts
+     */
+    private static long enumerate(Ship.ShipType a, Ship.ShipType b, double[] occupancy) {
+        int[] first = pointingRightOrDown(a);
+        int[] second = pointingRightOrDown(b);
+        long layouts = 0;
+        for (int i = 0; i < first.length; i++)
+            for (int j = a == b ? i + 1 : 0; j < second.length; j++) {
+                int p = first[i];
+                int q = second[j];
+                if ((Placements.zone(p, 0) & Placements.footprint(q, 0)) != 0
+                        || (Placements.zone(p, 1) & Placements.footprint(q, 1)) != 0)
+                    continue;
+                layouts++;
+                for (int k = 0; k < BitBoard.CELLS; k++)
+                    if (Placements.covers(p, k / Board.COLUMNS, k % Board.COLUMNS)
+                            || Placements.covers(q, k / Board.COLUMNS, k % Board.COLUMNS))
+                        occupancy[k]++;
+            }
+        return layouts;
+    }
+
+    private static int[] pointingRightOrDown(Ship.ShipType type) {
+        return Arrays.stream(Placements.valid(type)).filter(p -> {
+            Direction direction = Placements.direction(p);
+            return direction == Direction.RIGHT || direction == Direction.DOWN;
+        }).toArray();
+    }
+}
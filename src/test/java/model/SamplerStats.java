@@ -0,0 +1,157 @@
+package model;
+
+import helpers.GradeLevel;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A statistics harness comparing {@link FleetSampler} with the old placement algorithm (move and rotate the ships
+ * of a deterministic layout), see {@link Board#newGameByShuffling(Ship[])}.
+ * <p>
+ * For each fleet it reports layouts per second and the per-cell occupancy bias, i.e. how far the fraction of
+ * layouts occupying each square is from the exact occupancy of the empty board counted by {@link PlacementCounter}.
+ * The VG fleet has too many layouts to be counted exactly, so it's only timed, and the bias of the sampler with
+ * several ships is measured on a smaller fleet which can be counted.
+ * <p>
+ * Usage: <code>java model.SamplerStats [layouts]</code>, see {@link BenchSupport}
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class SamplerStats {
+
+    public static void main(String[] args) {
+        int layouts = BenchSupport.intArg(args, 0, 20000);
+
+        report("G", BenchSupport.fleet(GradeLevel.GODKAND), layouts);
+        report("B+S+P", new Ship.ShipType[]{Ship.ShipType.BATTLESHIP, Ship.ShipType.SUBMARINE,
+                Ship.ShipType.PATROL_BOAT}, layouts);
+        report("VG", BenchSupport.fleet(GradeLevel.VAL_GODKAND), layouts);
+    }
+
+    private static void report(String name, Ship.ShipType[] fleet, int layouts) {
+        System.out.printf("Fleet %s, %d layouts%n", name, layouts);
+
+        double[] reference = exactOccupancy(fleet);
+
+        double[] legacy = new double[BitBoard.CELLS];
+        long legacyNanos = shuffle(fleet, layouts, legacy);
+
+        double[] sampled = new double[BitBoard.CELLS];
+        long samplerNanos = sample(new FleetSampler(fleet), layouts, sampled);
+
+        if (reference == null)
+            System.out.println("  too many layouts to count exactly, the bias isn't measured");
+        System.out.printf("  %-10s %12s %14s %14s%n", "algorithm", "layouts/s", "max |bias|", "mean |bias|");
+        printRow("shuffling", layouts, legacyNanos, legacy, reference);
+        printRow("sampler", layouts, samplerNanos, sampled, reference);
+        System.out.println("  occupancy (percent), shuffling:");
+        printGrid(legacy);
+        System.out.println("  occupancy (percent), sampler:");
+        printGrid(sampled);
+        System.out.println();
+    }
+
+    /**
+     * Samples layouts and accumulates the fraction of layouts occupying each square.
+     *
+     * @return elapsed time in nanoseconds
+     */
+    private static long sample(FleetSampler sampler, int layouts, double[] occupancy) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] layout = new int[sampler.getFleetSize()];
+        long[] plane = new long[BitBoard.WORDS];
+        long start = System.nanoTime();
+        for (int n = 0; n < layouts; n++) {
+            if (!sampler.sample(random, layout))
+                throw new IllegalStateException("no layout found");
+            Arrays.fill(plane, 0L);
+            for (int p : layout)
+                for (int w = 0; w < BitBoard.WORDS; w++)
+                    plane[w] |= Placements.footprint(p, w);
+            for (int i = 0; i < BitBoard.CELLS; i++)
+                if (BitBoard.test(plane, i))
+                    occupancy[i]++;
+        }
+        long nanos = System.nanoTime() - start;
+        for (int i = 0; i < BitBoard.CELLS; i++)
+            occupancy[i] /= layouts;
+        return nanos;
+    }
+
+    /**
+     * Runs the old placement algorithm and accumulates the fraction of layouts occupying each square.
+     *
+     * @return elapsed time in nanoseconds
+     */
+    private static long shuffle(Ship.ShipType[] fleet, int layouts, double[] occupancy) {
+        Board board = new Board();
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+        }));
+        long start = System.nanoTime();
+        try {
+            for (int n = 0; n < layouts; n++) {
+                if (!board.newGameByShuffling(BenchSupport.ships(fleet)))
+                    throw new IllegalStateException("no layout found");
+                for (int r = 0; r < Board.ROWS; r++)
+                    for (int c = 0; c < Board.COLUMNS; c++)
+                        if (board.isOccupied(r, c))
+                            occupancy[BitBoard.index(r, c)]++;
+            }
+        } finally {
+            System.setOut(out);
+        }
+        long nanos = System.nanoTime() - start;
+        for (int i = 0; i < BitBoard.CELLS; i++)
+            occupancy[i] /= layouts;
+        return nanos;
+    }
+
+    /**
+     * @return the exact fraction of layouts of the fleet on the empty board occupying each square, or null if there
+     * are too many layouts to count them exactly
+     */
+    private static double[] exactOccupancy(Ship.ShipType[] fleet) {
+        int[] none = new int[0];
+        PlacementCounter.Result result = new PlacementCounter().count(fleet, none, none, none);
+        if (!result.isExact())
+            return null;
+        double[] occupancy = new double[BitBoard.CELLS];
+        for (int r = 0; r < Board.ROWS; r++)
+            for (int c = 0; c < Board.COLUMNS; c++)
+                occupancy[BitBoard.index(r, c)] = result.getProbability(r, c);
+        return occupancy;
+    }
+
+    private static void printRow(String name, int layouts, long nanos, double[] occupancy, double[] reference) {
+        if (reference == null) {
+            System.out.printf("  %-10s %12.0f %14s %14s%n", name, BenchSupport.perSecond(layouts, nanos), "-", "-");
+            return;
+        }
+        double max = 0;
+        double sum = 0;
+        for (int i = 0; i < BitBoard.CELLS; i++) {
+            double bias = Math.abs(occupancy[i] - reference[i]);
+            max = Math.max(max, bias);
+            sum += bias;
+        }
+        System.out.printf("  %-10s %12.0f %14.4f %14.4f%n", name, BenchSupport.perSecond(layouts, nanos), max,
+                sum / BitBoard.CELLS);
+    }
+
+    private static void printGrid(double[] occupancy) {
+        for (int r = 0; r < Board.ROWS; r++) {
+            StringBuilder sb = new StringBuilder("   ");
+            for (int c = 0; c < Board.COLUMNS; c++)
+                sb.append(String.format(" %3.0f", 100 * occupancy[BitBoard.index(r, c)]));
+            System.out.println(sb);
+        }
+    }
+}
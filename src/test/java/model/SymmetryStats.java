@@ -0,0 +1,101 @@
+package model;
+
+import helpers.GradeLevel;
+
+import java.util.SplittableRandom;
+
+/**
+ * A statistics harness measuring what canonical keys (see {@link Symmetry}) gain for the {@link PlacementCounter}
+ * cache. Games are opened by a shooter which always fires at the square most likely to be occupied, breaking ties
+ * at random, for a number of shots; every shot is a counter query. The same games are played with a cache keyed by
+ * the state as it is and with a cache keyed by canonical states, and for each the hit rate, the number of entries
+ * and the memory they hold are reported.
+ * <p>
+ * Ties are common in the opening, since the empty board is symmetric, so without canonical keys the same opening
+ * is stored in up to 8 orientations.
+ * <p>
+ * Usage: <code>java model.SymmetryStats [games] [shots] [seed]</code>, see {@link BenchSupport}
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class SymmetryStats {
+
+    private static final Ship.ShipType[] FLEET_SMALL = {
+            Ship.ShipType.BATTLESHIP, Ship.ShipType.SUBMARINE, Ship.ShipType.PATROL_BOAT
+    };
+
+    /**
+     * Approximate size of a cache entry: the result with its occupancy array, the map entry and the boxed key
+     */
+    private static final int ENTRY_BYTES = 40 + (16 + 8 * BitBoard.CELLS) + 40 + 16;
+
+    public static void main(String[] args) {
+        int games = BenchSupport.intArg(args, 0, 200);
+        int shots = BenchSupport.intArg(args, 1, 8);
+        long seed = BenchSupport.longArg(args, 2, 42);
+
+        report("G", BenchSupport.fleet(GradeLevel.GODKAND), games, shots, seed);
+        report("B+S+P", FLEET_SMALL, games, shots, seed);
+    }
+
+    private static void report(String name, Ship.ShipType[] fleet, int games, int shots, long seed) {
+        System.out.printf("Fleet %s, %d games, first %d shots%n", name, games, shots);
+        System.out.printf("  %-10s %10s %10s %10s %12s %10s%n", "keys", "queries", "hit rate", "entries", "memory",
+                "time");
+        TranspositionCache<PlacementCounter.Result> plain = play(fleet, games, shots, seed, false);
+        TranspositionCache<PlacementCounter.Result> canonical = play(fleet, games, shots, seed, true);
+        System.out.printf("  entries: %.2fx fewer, hit rate %+.1f points%n",
+                (double) plain.getSize() / canonical.getSize(), 100 * (canonical.getHitRate() - plain.getHitRate()));
+    }
+
+    private static TranspositionCache<PlacementCounter.Result> play(Ship.ShipType[] fleet, int games, int shots,
+                                                                   long seed, boolean canonical) {
+        TranspositionCache<PlacementCounter.Result> cache =
+                new TranspositionCache<>(Integer.MAX_VALUE, TranspositionCache.EvictionPolicy.LRU);
+        PlacementCounter counter = new PlacementCounter(PlacementCounter.DEFAULT_STATE_BUDGET,
+                PlacementCounter.DEFAULT_SAMPLES, new SplittableRandom(seed));
+        counter.setCache(cache, canonical);
+        SplittableRandom random = new SplittableRandom(seed);
+        Board board = new Board(random.split());
+
+        long start = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            if (!board.newGame(BenchSupport.ships(fleet)))
+                throw new IllegalStateException("the fleet can't be placed");
+            for (int shot = 0; shot < shots && !board.isGameOver(); shot++) {
+                int target = mostLikely(counter.count(board), board, random);
+                board.shoot(target / Board.COLUMNS, target % Board.COLUMNS);
+            }
+        }
+        double seconds = BenchSupport.secondsSince(start);
+
+        System.out.printf("  %-10s %10d %9.1f%% %10d %10d kB %8.2f s%n", canonical ? "canonical" : "as is",
+                cache.getHits() + cache.getMisses(), 100 * cache.getHitRate(), cache.getSize(),
+                (long) cache.getSize() * ENTRY_BYTES / 1024, seconds);
+        return cache;
+    }
+
+    /**
+     * @return the index of the unshot square with the highest probability, ties broken uniformly at random
+     */
+    private static int mostLikely(PlacementCounter.Result result, Board board, SplittableRandom random) {
+        int best = -1;
+        int ties = 0;
+        double most = -1;
+        for (int r = 0; r < Board.ROWS; r++)
+            for (int c = 0; c < Board.COLUMNS; c++) {
+                if (board.isHit(r, c))
+                    continue;
+                double probability = result.getProbability(r, c);
+                if (probability > most) {
+                    most = probability;
+                    best = BitBoard.index(r, c);
+                    ties = 1;
+                } else if (probability == most && random.nextInt(++ties) == 0) {
+                    best = BitBoard.index(r, c);
+                }
+            }
+        return best;
+    }
+}
@@ -0,0 +1,67 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the transforms of {@link Symmetry} and of the canonicalization of revealed states.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+class SymmetryTest {
+
+    @Test
+    void transformsMapPlacementsOntoTheImagesOfTheirSquares() {
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            for (int i = 0; i < BitBoard.CELLS; i++)
+                assertEquals(i, Symmetry.square(Symmetry.inverse(t), Symmetry.square(t, i)));
+            for (int p = 0; p < Placements.COUNT; p++) {
+                if (!Placements.isValid(p))
+                    continue;
+                int image = Symmetry.placement(t, p);
+                assertEquals(Placements.type(p), Placements.type(image));
+                for (int i = 0; i < BitBoard.CELLS; i++) {
+                    int j = Symmetry.square(t, i);
+                    assertEquals(Placements.covers(p, i / Board.COLUMNS, i % Board.COLUMNS),
+                            Placements.covers(image, j / Board.COLUMNS, j % Board.COLUMNS));
+                }
+            }
+        }
+    }
+
+    @Test
+    void canonicalKeyIsTheSameForEveryImage() {
+        long[] hashes = new long[Symmetry.COUNT];
+        for (Revealed state : PlacementCounterCacheTest.openings(8, 10)) {
+            long key = hashes[state.canonicalTransform(hashes)];
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                Revealed image = PlacementCounterCacheTest.transform(state, t);
+                assertEquals(key, hashes[image.canonicalTransform(hashes)], "transform " + t);
+            }
+        }
+    }
+
+    @Test
+    void countsMoveWithTheSquares() {
+        PlacementCounter counter = new PlacementCounter();
+        for (Revealed state : PlacementCounterCacheTest.openings(2, 6)) {
+            PlacementCounter.Result result = counter.count(state.remaining, state.hits, state.misses,
+                    state.sunkPlacements);
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                Revealed image = PlacementCounterCacheTest.transform(state, t);
+                PlacementCounter.Result imageResult = counter.count(image.remaining, image.hits, image.misses,
+                        image.sunkPlacements);
+                assertTrue(imageResult.isExact());
+                assertEquals(result.getLayouts(), imageResult.getLayouts());
+                for (int i = 0; i < BitBoard.CELLS; i++) {
+                    int j = Symmetry.square(t, i);
+                    assertEquals(result.getProbability(i / Board.COLUMNS, i % Board.COLUMNS),
+                            imageResult.getProbability(j / Board.COLUMNS, j % Board.COLUMNS), 1e-12);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package server;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a session of {@link GameServer} can only be used by the connection which created it.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+class GameServerTest {
+
+    @Test
+    void otherConnectionCantShootOrEndSession() throws IOException {
+        try (GameServer server = new GameServer(0);
+             Connection owner = new Connection(server.getPort());
+             Connection other = new Connection(server.getPort())) {
+            server.start();
+            String created = owner.request("NEW G");
+            assertTrue(created.startsWith("OK "), created);
+            String id = created.substring(3);
+
+            assertEquals("ERR no session " + id, other.request("SHOT " + id + " 0 0"));
+            assertEquals("ERR no session " + id, other.request("END " + id));
+            assertEquals("SESSIONS 1", other.request("STATS"));
+
+            assertTrue(owner.request("SHOT " + id + " 0 0").matches("MISS|HIT|SUNK"));
+            assertEquals("OK", owner.request("END " + id));
+            assertEquals("SESSIONS 0", owner.request("STATS"));
+        }
+    }
+
+    private static class Connection implements Closeable {
+
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+
+        Connection(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+        }
+
+        String request(String line) throws IOException {
+            out.write(line + "\n");
+            out.flush();
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
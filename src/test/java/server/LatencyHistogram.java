@@ -0,0 +1,97 @@
+package server;
+
+/**
+ * A histogram of latencies in nanoseconds with log-linear buckets: every power of two is split in
+ * <code>SUB_BUCKETS</code> equal parts, so percentiles are within about 6 % of the recorded values while the
+ * histogram stays a fixed, small array. Recording is a shift and an increment, cheap enough to do for every shot.
+ * <p>
+ * A histogram isn't thread safe. Give every thread its own and {@link #add(LatencyHistogram)} them afterwards.
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long max;
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos a latency in nanoseconds, negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts[bucketOf(value)]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the recorded latencies of another histogram to this one.
+     *
+     * @param other a histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++)
+            counts[i] += other.counts[i];
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the largest recorded latency in nanoseconds
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile a percentile, 0 to 100
+     *
+     * @return the upper bound of the bucket holding the percentile, in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0)
+            return 0;
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank))
+                return Math.min(upperBoundOf(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * Values below <code>SUB_BUCKETS</code> get a bucket each, larger values are bucketed by their highest set bit
+     * and the <code>SUB_BITS</code> bits below it.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
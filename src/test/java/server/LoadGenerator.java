@@ -0,0 +1,202 @@
+package server;
+
+import model.BenchSupport;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A load generator for {@link GameServer}. It starts a server in the same JVM, opens a number of sessions spread
+ * over a few loopback connections and leaves them idle while it measures the heap they use. Then every connection
+ * fires shots at its sessions, one request at a time, for a fixed duration; a session whose game is won is ended
+ * and replaced by a new one. Shots per second and the p50, p99 and p999 shot latency (request to response) are
+ * reported at the end.
+ * <p>
+ * It's run by hand after <code>mvn test-compile</code>:
+ * <code>java -cp target/classes:target/test-classes server.LoadGenerator [sessions] [connections] [seconds]
+ * [G|VG]</code>
+ *
+ * @author Tor Gammelgard
+ * @version 2026-10-17
+ */
+public class LoadGenerator {
+
+    /** Number of requests written before the responses are read when opening sessions */
+    private static final int PIPELINE_DEPTH = 256;
+
+    private static final int CELLS = 100;
+
+    public static void main(String[] args) throws Exception {
+        int sessions = BenchSupport.intArg(args, 0, 100000);
+        int connections = BenchSupport.intArg(args, 1, 8);
+        int seconds = BenchSupport.intArg(args, 2, 10);
+        String grade = args.length > 3 ? args[3] : "G";
+
+        try (GameServer server = new GameServer(0)) {
+            server.start();
+            ExecutorService clients = Executors.newFixedThreadPool(connections);
+            List<Client> pool = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                int share = sessions / connections + (i < sessions % connections ? 1 : 0);
+                pool.add(new Client(server.getPort(), grade, share));
+            }
+
+            long heapBefore = BenchSupport.usedHeap();
+            long start = System.nanoTime();
+            runAll(clients, pool, client -> client::open);
+            double openSeconds = (System.nanoTime() - start) / 1e9;
+            long heapAfter = BenchSupport.usedHeap();
+
+            System.out.printf("Opened %d %s sessions over %d connections in %.1f s (%.0f sessions/s)%n",
+                    server.getSessionCount(), grade, connections, openSeconds, sessions / openSeconds);
+            System.out.printf("Heap used by idle sessions: %.1f MB, %d bytes per session%n",
+                    (heapAfter - heapBefore) / 1e6, (heapAfter - heapBefore) / Math.max(1, sessions));
+
+            long deadline = System.nanoTime() + seconds * 1000000000L;
+            start = System.nanoTime();
+            runAll(clients, pool, client -> () -> client.shootUntil(deadline));
+            double shootSeconds = (System.nanoTime() - start) / 1e9;
+
+            LatencyHistogram latencies = new LatencyHistogram();
+            long games = 0;
+            for (Client client : pool) {
+                latencies.add(client.latencies);
+                games += client.games;
+                client.close();
+            }
+            System.out.printf("%d shots in %.1f s: %.0f shots/s, %d games won%n",
+                    latencies.getCount(), shootSeconds, latencies.getCount() / shootSeconds, games);
+            System.out.printf("Shot latency: p50 %.1f us, p99 %.1f us, p999 %.1f us, max %.1f us%n",
+                    latencies.getPercentile(50) / 1e3, latencies.getPercentile(99) / 1e3,
+                    latencies.getPercentile(99.9) / 1e3, latencies.getMax() / 1e3);
+            clients.shutdown();
+        }
+    }
+
+    private interface Work {
+        Callable<Void> of(Client client);
+    }
+
+    private static void runAll(ExecutorService executor, List<Client> clients, Work work) throws Exception {
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Client client : clients)
+            futures.add(executor.submit(work.of(client)));
+        for (Future<Void> future : futures)
+            future.get();
+    }
+
+    /**
+     * One connection and the sessions opened over it.
+     */
+    private static class Client implements Closeable {
+
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+        private final String grade;
+
+        private final long[] sessions;
+        /** Number of shots taken in each session */
+        private final byte[] shots;
+        /** The order in which the squares are shot, each session starting at its own offset */
+        private final int[] order = new int[CELLS];
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private long games;
+
+        Client(int port, String grade, int sessions) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+            this.grade = grade;
+            this.sessions = new long[sessions];
+            this.shots = new byte[sessions];
+
+            SplittableRandom random = new SplittableRandom(port + sessions);
+            for (int i = 0; i < CELLS; i++)
+                order[i] = i;
+            for (int i = CELLS - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = order[i];
+                order[i] = order[j];
+                order[j] = t;
+            }
+        }
+
+        /**
+         * Opens all sessions, pipelining the requests.
+         */
+        Void open() throws IOException {
+            for (int first = 0; first < sessions.length; first += PIPELINE_DEPTH) {
+                int last = Math.min(sessions.length, first + PIPELINE_DEPTH);
+                for (int i = first; i < last; i++)
+                    out.write("NEW " + grade + "\n");
+                out.flush();
+                for (int i = first; i < last; i++)
+                    sessions[i] = parseSession(in.readLine());
+            }
+            return null;
+        }
+
+        /**
+         * Shoots at the sessions in turn until the deadline, measuring the latency of every shot.
+         */
+        Void shootUntil(long deadline) throws IOException {
+            for (int i = 0; System.nanoTime() < deadline; i = (i + 1) % sessions.length) {
+                long session = sessions[i];
+                int square = order[(int) ((shots[i] + session) % CELLS)];
+                long start = System.nanoTime();
+                String response = request("SHOT " + session + " " + square / 10 + " " + square % 10);
+                latencies.record(System.nanoTime() - start);
+                if (response.startsWith("ERR"))
+                    throw new IOException(response);
+
+                if (response.equals("VICTORY") || ++shots[i] == CELLS) {
+                    if (response.equals("VICTORY"))
+                        games++;
+                    request("END " + session);
+                    sessions[i] = parseSession(request("NEW " + grade));
+                    shots[i] = 0;
+                }
+            }
+            return null;
+        }
+
+        private String request(String request) throws IOException {
+            out.write(request);
+            out.write('\n');
+            out.flush();
+            String response = in.readLine();
+            if (response == null)
+                throw new IOException("connection closed by the server");
+            return response;
+        }
+
+        private static long parseSession(String response) throws IOException {
+            if (response == null || !response.startsWith("OK "))
+                throw new IOException("can't open session: " + response);
+            return Long.parseLong(response.substring(3));
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}